@@ -3,12 +3,18 @@ package it.wiesner.mcp.codingguidelines;
 import java.util.List;
 
 import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.ai.tool.annotation.ToolParam;
 import org.springframework.stereotype.Service;
 
 import it.wiesner.mcp.codingguidelines.command.GetAllGuidelinesCommand;
 import it.wiesner.mcp.codingguidelines.command.GetGuidelineByLanguageCommand;
+import it.wiesner.mcp.codingguidelines.command.GetGuidelineStoreStatsCommand;
 import it.wiesner.mcp.codingguidelines.command.GuidelineCommand;
+import it.wiesner.mcp.codingguidelines.command.ListGuidelinesCommand;
 import it.wiesner.mcp.codingguidelines.model.CodingGuideline;
+import it.wiesner.mcp.codingguidelines.store.GuidelineInfo;
+import it.wiesner.mcp.codingguidelines.store.GuidelineStoreStats;
+import it.wiesner.mcp.codingguidelines.store.FileGuidelineStore;
 
 /**
  * Service zur Verwaltung von Coding Guidelines unter Verwendung des Command Patterns.
@@ -21,19 +27,50 @@ import it.wiesner.mcp.codingguidelines.model.CodingGuideline;
 @Service
 public class CodingGuidelineService {
 
+    /** Store für dateibasierte Guidelines (deaktiviert, wenn kein Verzeichnis konfiguriert ist) */
+    private final FileGuidelineStore store;
+
+    /**
+     * Konstruktor für den CodingGuidelineService.
+     * 
+     * @param store Store für dateibasierte Guidelines
+     */
+    public CodingGuidelineService(FileGuidelineStore store) {
+        this.store = store;
+    }
+
     /**
-     * Ruft alle verfügbaren Coding Guidelines ab.
+     * Ruft die verfügbaren Coding Guidelines seitenweise ab.
      * 
      * Diese Methode erstellt ein GetAllGuidelinesCommand und führt es aus,
-     * um eine Liste aller verfügbaren Coding Guidelines zurückzugeben.
-     * Aktuell werden Guidelines für Java und Python unterstützt.
+     * um eine Liste der Coding Guidelines zurückzugeben. Ohne konfigurierten
+     * Store werden Guidelines für Java und Python unterstützt; mit Store ist
+     * die Seitengröße durch guidelines.store.max-page-size begrenzt.
      * 
-     * @return Liste aller CodingGuideline-Objekte
+     * @param offset Index der ersten Guideline, oder null für 0
+     * @param limit Maximale Anzahl an Guidelines, oder null für den Standard
+     * @return Liste der CodingGuideline-Objekte
      */
-    @Tool(name = "get_coding_guidelines", description = "Get a list of coding_guidelines from the collection")
-    public List<CodingGuideline> getCodingGuideline() {
+    @Tool(name = "get_coding_guidelines", description = "Get a list of coding_guidelines from the collection. Large collections are returned page by page.")
+    public List<CodingGuideline> getCodingGuideline(
+            @ToolParam(required = false, description = "Index of the first coding_guideline, default 0") Integer offset,
+            @ToolParam(required = false, description = "Maximum number of coding_guidelines to return") Integer limit) {
+        // Command-Objekt mit Seitenangaben erstellen und ausführen
+        GuidelineCommand<List<CodingGuideline>> command = new GetAllGuidelinesCommand(store, offset, limit);
+        return command.execute();
+    }
+
+    /**
+     * Listet die Metadaten aller verfügbaren Coding Guidelines auf.
+     * 
+     * Liefert Sprache und Größe jeder Guideline ohne deren Inhalt.
+     * 
+     * @return Liste der Metadaten aller Guidelines
+     */
+    @Tool(name = "list_coding_guidelines", description = "List the languages and sizes of all coding_guidelines without their content")
+    public List<GuidelineInfo> listCodingGuidelines() {
         // Command-Objekt erstellen und ausführen
-        GuidelineCommand<List<CodingGuideline>> command = new GetAllGuidelinesCommand();
+        GuidelineCommand<List<GuidelineInfo>> command = new ListGuidelinesCommand(store);
         return command.execute();
     }
 
@@ -49,7 +86,22 @@ public class CodingGuidelineService {
     @Tool(name = "get_coding_guideline", description = "Get a single coding_guideline from the collection by programming language")
     public CodingGuideline getCodingGuideline(String language) {
         // Command-Objekt mit Sprach-Parameter erstellen und ausführen
-        GuidelineCommand<CodingGuideline> command = new GetGuidelineByLanguageCommand(language);
+        GuidelineCommand<CodingGuideline> command = new GetGuidelineByLanguageCommand(language, store);
+        return command.execute();
+    }
+
+    /**
+     * Ruft die Kennzahlen des Guideline-Stores ab.
+     * 
+     * Liefert die Anzahl indizierter und gecachter Dokumente sowie Cache-Treffer,
+     * Fehlzugriffe und Verdrängungen.
+     * 
+     * @return Momentaufnahme der Store-Kennzahlen
+     */
+    @Tool(name = "get_guideline_store_stats", description = "Get cache statistics (hits, misses, evictions) of the coding_guideline store")
+    public GuidelineStoreStats getGuidelineStoreStats() {
+        // Command-Objekt erstellen und ausführen
+        GuidelineCommand<GuidelineStoreStats> command = new GetGuidelineStoreStatsCommand(store);
         return command.execute();
     }
 
@@ -9,6 +9,8 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 
+import it.wiesner.mcp.codingguidelines.logging.LoggingToolCallback;
+
 /**
  * Hauptklasse der Spring Boot Anwendung für Coding Guidelines.
  * 
@@ -36,7 +38,8 @@ public class CodingGuidelinesApplication {
 	 * Diese Methode erstellt eine Liste von ToolCallbacks, die es externen
 	 * Systemen ermöglichen, auf die Coding Guidelines zuzugreifen. Die Tools
 	 * werden automatisch aus den @Tool-annotierten Methoden des Services
-	 * generiert.
+	 * generiert. Jeder Tool-Callback wird mit einem LoggingToolCallback
+	 * umhüllt, der jeden Aufruf asynchron protokolliert.
 	 * 
 	 * @param cgService Der CodingGuidelineService, dessen Methoden als Tools
 	 *                  bereitgestellt werden sollen
@@ -44,7 +47,7 @@ public class CodingGuidelinesApplication {
 	 */
 	@Bean
 	public List<ToolCallback> danTools(CodingGuidelineService cgService) {
-		return List.of(ToolCallbacks.from(cgService));
+		return LoggingToolCallback.wrap(ToolCallbacks.from(cgService));
 	}
 
 }
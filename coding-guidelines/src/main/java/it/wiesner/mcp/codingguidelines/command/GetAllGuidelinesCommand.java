@@ -3,6 +3,7 @@ package it.wiesner.mcp.codingguidelines.command;
 import java.util.List;
 
 import it.wiesner.mcp.codingguidelines.model.CodingGuideline;
+import it.wiesner.mcp.codingguidelines.store.FileGuidelineStore;
 
 /**
  * Command-Implementierung zum Abrufen aller Coding Guidelines.
@@ -10,9 +11,39 @@ import it.wiesner.mcp.codingguidelines.model.CodingGuideline;
  * Diese Klasse implementiert das GuidelineCommand-Interface und kapselt
  * die Operation zum Abrufen aller verfügbaren Coding Guidelines.
  * Sie nutzt die Default-Implementierung getAllCodingGuidelines() aus dem
- * Interface, um die Liste aller Guidelines zu erhalten.
+ * Interface, um die Liste aller Guidelines zu erhalten. Ist ein
+ * FileGuidelineStore konfiguriert, werden die Guidelines stattdessen
+ * seitenweise aus dem Store geliefert.
  */
 public class GetAllGuidelinesCommand implements GuidelineCommand<List<CodingGuideline>> {
+    /** Optionaler Store für dateibasierte Guidelines (null für Classpath-Betrieb) */
+    private final FileGuidelineStore store;
+
+    /** Index der ersten Guideline (null entspricht 0) */
+    private final Integer offset;
+
+    /** Maximale Anzahl an Guidelines (null: alle, im Store-Betrieb die maximale Seitengröße) */
+    private final Integer limit;
+
+    /**
+     * Konstruktor für das GetAllGuidelinesCommand im Classpath-Betrieb.
+     */
+    public GetAllGuidelinesCommand() {
+        this(null, null, null);
+    }
+
+    /**
+     * Konstruktor für das GetAllGuidelinesCommand mit Store und Seitenangaben.
+     *
+     * @param store Store für dateibasierte Guidelines, oder null für Classpath-Betrieb
+     * @param offset Index der ersten Guideline, oder null für 0
+     * @param limit Maximale Anzahl an Guidelines, oder null für den Standard
+     */
+    public GetAllGuidelinesCommand(FileGuidelineStore store, Integer offset, Integer limit) {
+        this.store = store;
+        this.offset = offset;
+        this.limit = limit;
+    }
 
     /**
      * Führt das Command aus und gibt alle verfügbaren Coding Guidelines zurück.
@@ -20,11 +51,22 @@ public class GetAllGuidelinesCommand implements GuidelineCommand<List<CodingGuid
      * Diese Methode delegiert die Arbeit an die getAllCodingGuidelines()-Methode
      * aus dem GuidelineCommand-Interface, die eine Liste aller unterstützten
      * Programmiersprachen mit ihren jeweiligen Guidelines zurückgibt.
+     * Bei aktivem Store wird stattdessen eine Seite der indizierten Guidelines
+     * geliefert, deren Größe durch die maximale Seitengröße des Stores begrenzt ist.
      * 
-     * @return Liste aller CodingGuideline-Objekte
+     * @return Liste der CodingGuideline-Objekte
      */
     @Override
     public List<CodingGuideline> execute() {
-        return getAllCodingGuidelines();
+        int first = offset != null ? offset : 0;
+        if (store != null && store.isEnabled()) {
+            return store.getPage(first, limit != null ? limit : Integer.MAX_VALUE);
+        }
+
+        // Classpath-Betrieb: Seitenangaben auf die feste Liste anwenden
+        return getAllCodingGuidelines().stream()
+                .skip(Math.max(0, first))
+                .limit(limit != null ? Math.max(0, limit) : Long.MAX_VALUE)
+                .toList();
     }
 }
@@ -1,6 +1,7 @@
 package it.wiesner.mcp.codingguidelines.command;
 
 import it.wiesner.mcp.codingguidelines.model.CodingGuideline;
+import it.wiesner.mcp.codingguidelines.store.FileGuidelineStore;
 
 /**
  * Command-Implementierung zum Abrufen einer Coding Guideline nach Programmiersprache.
@@ -14,6 +15,9 @@ public class GetGuidelineByLanguageCommand implements GuidelineCommand<CodingGui
     /** Name der gesuchten Programmiersprache */
     private final String language;
 
+    /** Optionaler Store für dateibasierte Guidelines (null für Classpath-Betrieb) */
+    private final FileGuidelineStore store;
+
     /**
      * Konstruktor für das GetGuidelineByLanguageCommand.
      * 
@@ -21,7 +25,19 @@ public class GetGuidelineByLanguageCommand implements GuidelineCommand<CodingGui
      *                 abgerufen werden soll (z.B. "java", "python")
      */
     public GetGuidelineByLanguageCommand(String language) {
+        this(language, null);
+    }
+
+    /**
+     * Konstruktor für das GetGuidelineByLanguageCommand mit Store.
+     *
+     * @param language Name der Programmiersprache, für die die Guideline
+     *                 abgerufen werden soll (z.B. "java", "python")
+     * @param store Store für dateibasierte Guidelines, oder null für Classpath-Betrieb
+     */
+    public GetGuidelineByLanguageCommand(String language, FileGuidelineStore store) {
         this.language = language;
+        this.store = store;
     }
 
     /**
@@ -30,11 +46,17 @@ public class GetGuidelineByLanguageCommand implements GuidelineCommand<CodingGui
      * Diese Methode durchsucht alle verfügbaren Guidelines und filtert nach der
      * angegebenen Programmiersprache. Der Vergleich erfolgt case-insensitive.
      * Wenn keine passende Guideline gefunden wird, wird null zurückgegeben.
+     * Bei aktivem Store erfolgt die Suche direkt über dessen Index, ohne
+     * die übrigen Guidelines zu laden.
      * 
      * @return CodingGuideline für die angegebene Sprache, oder null wenn nicht gefunden
      */
     @Override
     public CodingGuideline execute() {
+        if (store != null && store.isEnabled()) {
+            return store.get(language);
+        }
+
         // Stream über alle Guidelines erstellen
         return getAllCodingGuidelines().stream()
                 // Nach Sprache filtern (case-insensitive)
@@ -0,0 +1,34 @@
+package it.wiesner.mcp.codingguidelines.command;
+
+import it.wiesner.mcp.codingguidelines.store.GuidelineStoreStats;
+import it.wiesner.mcp.codingguidelines.store.FileGuidelineStore;
+
+/**
+ * Command-Implementierung zum Abrufen der Kennzahlen des Guideline-Stores.
+ * 
+ * Diese Klasse kapselt die Abfrage von Cache-Treffern, Fehlzugriffen und
+ * Verdrängungen des FileGuidelineStore.
+ */
+public class GetGuidelineStoreStatsCommand implements GuidelineCommand<GuidelineStoreStats> {
+    /** Store, dessen Kennzahlen abgefragt werden */
+    private final FileGuidelineStore store;
+
+    /**
+     * Konstruktor für das GetGuidelineStoreStatsCommand.
+     * 
+     * @param store Store, dessen Kennzahlen abgefragt werden sollen
+     */
+    public GetGuidelineStoreStatsCommand(FileGuidelineStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Führt das Command aus und gibt die aktuellen Kennzahlen des Stores zurück.
+     * 
+     * @return Momentaufnahme der Store-Kennzahlen
+     */
+    @Override
+    public GuidelineStoreStats execute() {
+        return store.getStats();
+    }
+}
@@ -0,0 +1,46 @@
+package it.wiesner.mcp.codingguidelines.command;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import it.wiesner.mcp.codingguidelines.store.GuidelineInfo;
+import it.wiesner.mcp.codingguidelines.store.FileGuidelineStore;
+
+/**
+ * Command-Implementierung zum Auflisten der verfügbaren Coding Guidelines.
+ * 
+ * Diese Klasse liefert nur Metadaten (Sprache und Größe) ohne die Inhalte.
+ * Bei aktivem FileGuidelineStore stammen die Metadaten direkt aus dessen
+ * Index, sodass kein Dokument gelesen werden muss.
+ */
+public class ListGuidelinesCommand implements GuidelineCommand<List<GuidelineInfo>> {
+    /** Optionaler Store für dateibasierte Guidelines (null für Classpath-Betrieb) */
+    private final FileGuidelineStore store;
+
+    /**
+     * Konstruktor für das ListGuidelinesCommand.
+     * 
+     * @param store Store für dateibasierte Guidelines, oder null für Classpath-Betrieb
+     */
+    public ListGuidelinesCommand(FileGuidelineStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Führt das Command aus und gibt die Metadaten aller Guidelines zurück.
+     * 
+     * @return Liste der Metadaten aller verfügbaren Guidelines
+     */
+    @Override
+    public List<GuidelineInfo> execute() {
+        if (store != null && store.isEnabled()) {
+            return store.list();
+        }
+
+        // Classpath-Betrieb: Größe aus dem geladenen Inhalt ermitteln
+        return getAllCodingGuidelines().stream()
+                .map(cg -> new GuidelineInfo(cg.getLanguage(),
+                        cg.getRules().getBytes(StandardCharsets.UTF_8).length))
+                .toList();
+    }
+}
@@ -0,0 +1,171 @@
+package it.wiesner.mcp.codingguidelines.logging;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Decorator für ToolCallbacks, der jeden Tool-Aufruf protokolliert.
+ *
+ * Pro Aufruf wird genau ein kompakter Datensatz im key=value Format geschrieben:
+ * Tool-Name, Status, Dauer, Größe von Eingabe und Ergebnis sowie die Größe jedes
+ * einzelnen Arguments (jeweils in Zeichen des JSON-Texts), z.B.
+ * "args=files:48213,message:12".
+ * Die Aufteilung nach Argumenten erfordert einen zweiten Durchlauf durch die
+ * Eingabe und wird daher nur für Eingaben bis 16 KiB Zeichen ermittelt; bei
+ * größeren Eingaben (z.B. umfangreiche Revisionen) wird nur die Gesamtgröße
+ * protokolliert ("args=omitted").
+ * Die Ausgabe erfolgt über den Logger "it.wiesner.mcp.codingguidelines.toolcalls",
+ * der in logback-spring.xml an einen asynchronen Appender gebunden ist. Dadurch
+ * bleibt Datei-I/O vom Request-Thread getrennt und es wird nie auf stdout
+ * geschrieben, was den MCP-Protokollstrom stören würde.
+ */
+public class LoggingToolCallback implements ToolCallback {
+
+    /** Name des Loggers für Tool-Aufrufe (siehe logback-spring.xml) */
+    public static final String LOGGER_NAME = "it.wiesner.mcp.codingguidelines.toolcalls";
+
+    private static final Logger log = LoggerFactory.getLogger(LOGGER_NAME);
+
+    /** Maximale Länge der Eingabe in Zeichen, bis zu der die Argumentgrößen ermittelt werden */
+    static final int MAX_ARGUMENT_SCAN_CHARS = 16 * 1024;
+
+    /** Threadsichere Factory für den Streaming-Parser zur Ermittlung der Argumentgrößen */
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /** Eigentlicher ToolCallback, an den alle Aufrufe delegiert werden */
+    private final ToolCallback delegate;
+
+    /** Name des Tools - einmalig ermittelt, um ihn nicht bei jedem Aufruf aufzulösen */
+    private final String toolName;
+
+    /**
+     * Konstruktor für einen LoggingToolCallback.
+     *
+     * @param delegate ToolCallback, dessen Aufrufe protokolliert werden sollen
+     */
+    public LoggingToolCallback(ToolCallback delegate) {
+        this.delegate = delegate;
+        this.toolName = delegate.getToolDefinition().name();
+    }
+
+    /**
+     * Umhüllt alle übergebenen ToolCallbacks mit einem LoggingToolCallback.
+     *
+     * @param callbacks Zu protokollierende ToolCallbacks
+     * @return Liste der umhüllten ToolCallbacks
+     */
+    public static List<ToolCallback> wrap(ToolCallback... callbacks) {
+        return Arrays.stream(callbacks)
+            .map(LoggingToolCallback::new)
+            .map(ToolCallback.class::cast)
+            .toList();
+    }
+
+    @Override
+    public ToolDefinition getToolDefinition() {
+        return delegate.getToolDefinition();
+    }
+
+    @Override
+    public ToolMetadata getToolMetadata() {
+        return delegate.getToolMetadata();
+    }
+
+    @Override
+    public String call(String toolInput) {
+        return invoke(toolInput, delegate::call);
+    }
+
+    @Override
+    public String call(String toolInput, ToolContext toolContext) {
+        return invoke(toolInput, input -> delegate.call(input, toolContext));
+    }
+
+    /**
+     * Führt den Tool-Aufruf aus und protokolliert ihn anschließend - auch im Fehlerfall.
+     */
+    private String invoke(String toolInput, UnaryOperator<String> invocation) {
+        long start = System.nanoTime();
+        String result = null;
+        boolean success = false;
+        try {
+            result = invocation.apply(toolInput);
+            success = true;
+            return result;
+        } finally {
+            // Auf dem Request-Thread nur Zeitmessung und Einreihen in die Queue -
+            // die Datei-I/O übernimmt der Thread des asynchronen Appenders
+            if (log.isInfoEnabled()) {
+                long durationMicros = (System.nanoTime() - start) / 1_000;
+                log.info("tool={} status={} durationMicros={} inputChars={} outputChars={} args={}",
+                        toolName,
+                        success ? "ok" : "error",
+                        durationMicros,
+                        length(toolInput),
+                        length(result),
+                        argumentSizes(toolInput));
+            }
+        }
+    }
+
+    /**
+     * Ermittelt die Größe jedes Top-Level-Arguments der JSON-Eingabe.
+     *
+     * Die Eingabe wird mit dem Streaming-Parser durchlaufen und jedes Argument über
+     * seine Zeichenpositionen vermessen; es entstehen keine Objekte für die Werte.
+     * Der Aufwand ist dennoch linear zur Eingabe, daher werden Eingaben über
+     * {@link #MAX_ARGUMENT_SCAN_CHARS} Zeichen nicht vermessen.
+     *
+     * @param toolInput JSON-Eingabe des Tool-Aufrufs
+     * @return Argumentgrößen im Format "name:zeichen,...", "omitted" bei zu großer
+     *         bzw. "invalid" bei ungültiger Eingabe
+     */
+    static String argumentSizes(String toolInput) {
+        if (toolInput == null || toolInput.isEmpty()) {
+            return "";
+        }
+        if (toolInput.length() > MAX_ARGUMENT_SCAN_CHARS) {
+            return "omitted";
+        }
+        try (JsonParser parser = JSON_FACTORY.createParser(toolInput)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return "";
+            }
+            StringBuilder sizes = new StringBuilder();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                long start = parser.currentTokenLocation().getCharOffset();
+                // Objekte und Arrays überspringen (dabei werden sie weiterhin tokenisiert);
+                // String-Werte liest finishToken vollständig in den Textpuffer des Parsers ein
+                parser.skipChildren();
+                parser.finishToken();
+                long end = parser.currentLocation().getCharOffset();
+                if (sizes.length() > 0) {
+                    sizes.append(',');
+                }
+                sizes.append(name).append(':').append(end - start);
+            }
+            return sizes.toString();
+        } catch (IOException e) {
+            return "invalid";
+        }
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+}
@@ -31,6 +31,20 @@ public class CodingGuideline {
         loadCodingGuideline();
     }
 
+    /**
+     * Konstruktor für eine CodingGuideline mit bereits geladenem Inhalt.
+     *
+     * Wird vom FileGuidelineStore verwendet, der die Inhalte selbst aus
+     * dem Dateisystem liest und cacht.
+     *
+     * @param language Name der Programmiersprache
+     * @param rules Inhalt der Richtlinien im Markdown-Format
+     */
+    public CodingGuideline(String language, String rules) {
+        this.language = language;
+        this.rules = rules;
+    }
+
     /**
      * Gibt den Namen der Programmiersprache zurück.
      * 
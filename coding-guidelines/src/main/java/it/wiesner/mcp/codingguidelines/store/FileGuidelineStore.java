@@ -0,0 +1,222 @@
+package it.wiesner.mcp.codingguidelines.store;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import it.wiesner.mcp.codingguidelines.model.CodingGuideline;
+
+/**
+ * Speicherschonender Store für große Mengen an Coding Guidelines.
+ *
+ * Beim Start wird das konfigurierte Verzeichnis (rekursiv) nach Dateien im Format
+ * "coding_guidelines_&lt;language&gt;.md" durchsucht. Auf dem Heap wird nur ein
+ * kompakter Metadaten-Index gehalten; die Inhalte werden bei Bedarf aus den
+ * UTF-8 Dateien gelesen und in einem größenbegrenzten LRU-Cache abgelegt.
+ * Dadurch bleibt der Heap-Verbrauch auch bei tausenden Dokumenten konstant.
+ *
+ * Die Dateien werden bewusst nicht per Memory-Mapping gelesen: Ein Mapping bleibt
+ * bis zur Garbage Collection bestehen und sperrt unter Windows das Ersetzen oder
+ * Löschen der Datei. Stattdessen wird jede Datei mit einem einfachen Lesezugriff
+ * gelesen und sofort wieder geschlossen; der Inhalt wird ohnehin vollständig in
+ * einen String dekodiert.
+ *
+ * Auflistungen liefern nur Metadaten bzw. seitenweise Inhalte, die am Cache
+ * vorbei gelesen werden - ein vollständiger Durchlauf würde sonst den
+ * Arbeitsbestand des Caches verdrängen.
+ *
+ * Ist kein Verzeichnis konfiguriert (guidelines.store.directory), ist der Store
+ * deaktiviert und die Guidelines werden wie bisher aus dem Classpath geladen.
+ */
+@Component
+public class FileGuidelineStore {
+
+    /** Präfix der Guideline-Dateien (analog zum Classpath-Dateimuster) */
+    private static final String FILE_PREFIX = "coding_guidelines_";
+
+    /** Endung der Guideline-Dateien */
+    private static final String FILE_SUFFIX = ".md";
+
+    /** Metadaten-Index, sortiert nach Sprache (Schlüssel in Kleinbuchstaben) */
+    private final Map<String, GuidelineIndexEntry> index;
+
+    /** LRU-Cache für dekodierte Inhalte */
+    private final GuidelineCache cache;
+
+    /** true, wenn ein Verzeichnis konfiguriert ist */
+    private final boolean enabled;
+
+    /** Maximale Anzahl an Guidelines pro Seite einer Auflistung */
+    private final int maxPageSize;
+
+    /**
+     * Konstruktor für den FileGuidelineStore.
+     *
+     * @param directory     Verzeichnis mit den Guideline-Dateien, leer für Classpath-Betrieb
+     * @param cacheMaxBytes Obergrenze des Inhalts-Caches in Bytes Heap-Bedarf (2 Byte je Zeichen)
+     * @param maxPageSize   Maximale Anzahl an Guidelines pro Seite einer Auflistung
+     * @throws IllegalArgumentException wenn das Verzeichnis nicht existiert
+     * @throws IllegalStateException wenn eine Sprache mehrfach vorkommt
+     * @throws UncheckedIOException wenn beim Indizieren ein I/O-Fehler auftritt
+     */
+    public FileGuidelineStore(
+            @Value("${guidelines.store.directory:}") String directory,
+            @Value("${guidelines.store.cache-max-bytes:8388608}") long cacheMaxBytes,
+            @Value("${guidelines.store.max-page-size:20}") int maxPageSize) {
+        this.cache = new GuidelineCache(cacheMaxBytes);
+        this.maxPageSize = maxPageSize;
+        this.enabled = directory != null && !directory.isBlank();
+        this.index = enabled
+                ? Collections.unmodifiableMap(buildIndex(Paths.get(directory)))
+                : Collections.emptyMap();
+    }
+
+    /**
+     * Gibt an, ob der Store konfiguriert ist und Guidelines bereitstellt.
+     *
+     * @return true wenn ein Verzeichnis konfiguriert wurde
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Liefert die Guideline zu einer Sprache (case-insensitive).
+     *
+     * @param language Name der Sprache bzw. des Guideline-Schlüssels
+     * @return CodingGuideline, oder null wenn nicht vorhanden
+     */
+    public CodingGuideline get(String language) {
+        if (language == null) {
+            return null;
+        }
+        GuidelineIndexEntry entry = index.get(language.toLowerCase(Locale.ROOT));
+        if (entry == null) {
+            return null;
+        }
+        return new CodingGuideline(entry.language(), loadContent(entry));
+    }
+
+    /**
+     * Liefert die Metadaten aller indizierten Guidelines in alphabetischer Reihenfolge.
+     *
+     * Es wird kein Dokument gelesen; die Größe ist die aktuelle Dateigröße, damit
+     * sie zu den gelieferten Inhalten passt.
+     *
+     * @return Liste der Metadaten aller Guidelines
+     */
+    public List<GuidelineInfo> list() {
+        return index.values().stream()
+                .map(entry -> new GuidelineInfo(entry.language(), GuidelineVersion.of(entry.path()).size()))
+                .toList();
+    }
+
+    /**
+     * Liefert eine Seite der indizierten Guidelines in alphabetischer Reihenfolge.
+     *
+     * Die Inhalte werden am Cache vorbei gelesen, damit eine Auflistung den
+     * Arbeitsbestand des Caches nicht verdrängt und die Kennzahlen nicht verfälscht.
+     *
+     * @param offset Index der ersten Guideline (ab 0)
+     * @param limit  Gewünschte Anzahl, wird auf die maximale Seitengröße begrenzt
+     * @return Liste der CodingGuideline-Objekte dieser Seite
+     */
+    public List<CodingGuideline> getPage(int offset, int limit) {
+        int pageSize = Math.max(0, Math.min(limit, maxPageSize));
+        return index.values().stream()
+                .skip(Math.max(0, offset))
+                .limit(pageSize)
+                .map(entry -> new CodingGuideline(entry.language(), readContent(entry.path())))
+                .toList();
+    }
+
+    /**
+     * Liefert die aktuellen Kennzahlen des Stores (Treffer, Fehlzugriffe, Verdrängungen).
+     *
+     * @return Momentaufnahme der Kennzahlen
+     */
+    public GuidelineStoreStats getStats() {
+        return cache.stats(index.size());
+    }
+
+    /**
+     * Liefert den Inhalt einer Guideline aus dem Cache oder liest ihn aus der Datei.
+     *
+     * Das Lesen erfolgt bewusst außerhalb der Cache-Sperre, damit parallele Zugriffe
+     * auf andere Dokumente nicht blockiert werden. Bei jedem Zugriff wird der Stand der
+     * Datei geprüft, damit geänderte Dateien nicht aus einem veralteten Cache-Eintrag
+     * geliefert werden.
+     */
+    private String loadContent(GuidelineIndexEntry entry) {
+        // Stand vor dem Lesen ermitteln - ändert sich die Datei währenddessen, wird sie
+        // beim nächsten Zugriff erneut gelesen
+        GuidelineVersion version = GuidelineVersion.of(entry.path());
+        String content = cache.get(entry.language(), version);
+        if (content == null) {
+            content = readContent(entry.path());
+            cache.put(entry.language(), content, GuidelineCache.weightOf(content), version);
+        }
+        return content;
+    }
+
+    /**
+     * Liest eine UTF-8 Datei vollständig und dekodiert sie.
+     *
+     * Die Datei ist nur während des Lesens geöffnet. Ungültige UTF-8 Sequenzen
+     * werden ersetzt statt einen Fehler auszulösen.
+     */
+    private static String readContent(Path path) {
+        try {
+            return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load coding guideline from: " + path, e);
+        }
+    }
+
+    /**
+     * Durchsucht das Verzeichnis rekursiv und baut den Metadaten-Index auf.
+     */
+    private static Map<String, GuidelineIndexEntry> buildIndex(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            throw new IllegalArgumentException("Guideline directory not found: " + directory);
+        }
+
+        Map<String, GuidelineIndexEntry> entries = new TreeMap<>();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                String fileName = path.getFileName().toString();
+                if (!Files.isRegularFile(path)
+                        || !fileName.startsWith(FILE_PREFIX)
+                        || !fileName.endsWith(FILE_SUFFIX)) {
+                    continue;
+                }
+
+                // Sprache aus dem Dateinamen extrahieren (z.B. "coding_guidelines_java.md" -> "java")
+                String language = fileName
+                        .substring(FILE_PREFIX.length(), fileName.length() - FILE_SUFFIX.length())
+                        .toLowerCase(Locale.ROOT);
+                GuidelineIndexEntry entry = new GuidelineIndexEntry(language, path, Files.size(path));
+                GuidelineIndexEntry previous = entries.putIfAbsent(language, entry);
+                if (previous != null) {
+                    throw new IllegalStateException("Duplicate coding guideline '" + language + "': "
+                            + previous.path() + " and " + path);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to index coding guidelines in: " + directory, e);
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,131 @@
+package it.wiesner.mcp.codingguidelines.store;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Größenbegrenzter LRU-Cache für dekodierte Guideline-Inhalte.
+ *
+ * Die Größe eines Eintrags wird über den Heap-Bedarf des dekodierten Inhalts
+ * gewichtet (siehe {@link #weightOf(String)}), nicht über die UTF-8 Dateigröße -
+ * ein Dokument mit einem einzigen Zeichen außerhalb von Latin-1 belegt auf dem
+ * Heap zwei Bytes je Zeichen, auch für reinen ASCII-Text. Überschreitet
+ * die Summe aller Einträge die Obergrenze, werden die am längsten nicht genutzten
+ * Einträge verdrängt. Dokumente, die allein größer als die Obergrenze sind, werden
+ * nicht gecacht, sondern bei jedem Zugriff erneut aus der Datei gelesen.
+ *
+ * Jeder Eintrag merkt sich den Stand der Datei beim Lesen. Weicht der beim Zugriff
+ * übergebene Stand davon ab, wird der Eintrag verworfen und als Fehlzugriff gezählt.
+ *
+ * Alle Methoden sind synchronisiert, da die Tool-Aufrufe parallel erfolgen können.
+ */
+public class GuidelineCache {
+
+    /** Obergrenze des Caches in Bytes */
+    private final long maxBytes;
+
+    /** Einträge in Zugriffsreihenfolge (accessOrder = true), ältester Eintrag zuerst */
+    private final LinkedHashMap<String, CachedDocument> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** Summe der Gewichte aller Einträge */
+    private long currentBytes;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Konstruktor für einen neuen GuidelineCache.
+     *
+     * @param maxBytes Obergrenze des Caches in Bytes (0 deaktiviert das Caching)
+     * @throws IllegalArgumentException wenn maxBytes negativ ist
+     */
+    public GuidelineCache(long maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("Cache size must not be negative: " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Liefert den gecachten Inhalt zu einem Schlüssel und zählt Treffer bzw. Fehlzugriffe.
+     *
+     * @param key     Schlüssel der Guideline
+     * @param version Aktueller Stand der Datei
+     * @return Inhalt der Guideline, oder null wenn nicht im Cache oder veraltet
+     */
+    public synchronized String get(String key, GuidelineVersion version) {
+        CachedDocument document = entries.get(key);
+        if (document != null && !document.version().equals(version)) {
+            // Datei wurde seit dem Lesen geändert - veralteten Inhalt verwerfen
+            entries.remove(key);
+            currentBytes -= document.weight();
+            document = null;
+        }
+        if (document == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return document.content();
+    }
+
+    /**
+     * Legt einen Inhalt im Cache ab und verdrängt bei Bedarf die ältesten Einträge.
+     *
+     * @param key     Schlüssel der Guideline
+     * @param content Dekodierter Inhalt
+     * @param weight  Gewicht des Eintrags in Bytes (siehe {@link #weightOf(String)})
+     * @param version Stand der Datei, aus dem der Inhalt gelesen wurde
+     */
+    public synchronized void put(String key, String content, long weight, GuidelineVersion version) {
+        // Zu große Dokumente würden den gesamten Cache leeren - daher nicht aufnehmen
+        if (weight > maxBytes) {
+            return;
+        }
+
+        CachedDocument previous = entries.put(key, new CachedDocument(content, weight, version));
+        if (previous != null) {
+            currentBytes -= previous.weight();
+        }
+        currentBytes += weight;
+
+        // Älteste Einträge verdrängen, bis die Obergrenze wieder eingehalten wird
+        Iterator<Map.Entry<String, CachedDocument>> iterator = entries.entrySet().iterator();
+        while (currentBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, CachedDocument> eldest = iterator.next();
+            currentBytes -= eldest.getValue().weight();
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Ermittelt das Gewicht eines dekodierten Inhalts.
+     *
+     * Obergrenze des Heap-Bedarfs der Zeichendaten: zwei Bytes je Zeichen (UTF-16).
+     * Reine Latin-1 Inhalte belegen dank Compact Strings nur die Hälfte.
+     *
+     * @param content Dekodierter Inhalt
+     * @return Gewicht in Bytes
+     */
+    public static long weightOf(String content) {
+        return (long) content.length() * Character.BYTES;
+    }
+
+    /**
+     * Erstellt eine Momentaufnahme der Cache-Kennzahlen.
+     *
+     * @param indexedDocuments Anzahl der indizierten Dokumente des zugehörigen Stores
+     * @return Kennzahlen des Caches
+     */
+    public synchronized GuidelineStoreStats stats(int indexedDocuments) {
+        return new GuidelineStoreStats(indexedDocuments, entries.size(), currentBytes, maxBytes,
+                hits, misses, evictions);
+    }
+
+    /** Gecachter Inhalt zusammen mit seinem Gewicht und dem Stand der Datei */
+    private record CachedDocument(String content, long weight, GuidelineVersion version) {
+    }
+}
@@ -0,0 +1,16 @@
+package it.wiesner.mcp.codingguidelines.store;
+
+import java.nio.file.Path;
+
+/**
+ * Metadaten-Eintrag des Guideline-Index.
+ *
+ * Pro Guideline-Dokument wird nur dieser kompakte Eintrag auf dem Heap gehalten.
+ * Der eigentliche Inhalt verbleibt in der Datei und wird bei Bedarf gelesen.
+ *
+ * @param language Schlüssel der Guideline (z.B. "java", "java-spring")
+ * @param path     Pfad zur UTF-8 kodierten Markdown-Datei
+ * @param size     Dateigröße in Bytes zum Zeitpunkt der Indizierung
+ */
+public record GuidelineIndexEntry(String language, Path path, long size) {
+}
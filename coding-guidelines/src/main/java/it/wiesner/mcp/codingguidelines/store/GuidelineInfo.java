@@ -0,0 +1,13 @@
+package it.wiesner.mcp.codingguidelines.store;
+
+/**
+ * Metadaten einer Guideline ohne deren Inhalt.
+ *
+ * Wird für Auflistungen verwendet, damit große Sammlungen durchsucht werden
+ * können, ohne alle Dokumente zu laden.
+ *
+ * @param language Schlüssel der Guideline (z.B. "java", "java-spring")
+ * @param size     Größe des Dokuments in Bytes (UTF-8)
+ */
+public record GuidelineInfo(String language, long size) {
+}
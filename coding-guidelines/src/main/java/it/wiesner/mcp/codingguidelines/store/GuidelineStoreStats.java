@@ -0,0 +1,22 @@
+package it.wiesner.mcp.codingguidelines.store;
+
+/**
+ * Momentaufnahme der Kennzahlen des Guideline-Stores.
+ *
+ * @param indexedDocuments Anzahl der indizierten Guideline-Dokumente
+ * @param cachedDocuments  Anzahl der aktuell dekodiert im Cache gehaltenen Dokumente
+ * @param cachedBytes      Geschätzter Heap-Bedarf aller gecachten Dokumente in Bytes (2 Byte je Zeichen)
+ * @param maxCacheBytes    Obergrenze des Caches in Bytes Heap-Bedarf
+ * @param hits             Anzahl der Cache-Treffer
+ * @param misses           Anzahl der Cache-Fehlzugriffe
+ * @param evictions        Anzahl der aus dem Cache verdrängten Dokumente
+ */
+public record GuidelineStoreStats(
+        int indexedDocuments,
+        int cachedDocuments,
+        long cachedBytes,
+        long maxCacheBytes,
+        long hits,
+        long misses,
+        long evictions) {
+}
@@ -0,0 +1,36 @@
+package it.wiesner.mcp.codingguidelines.store;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+
+/**
+ * Stand einer Guideline-Datei, anhand dessen gecachte Inhalte validiert werden.
+ *
+ * Ändert sich Größe oder Änderungszeitpunkt der Datei, gilt der gecachte Inhalt
+ * als veraltet und wird neu gelesen.
+ *
+ * @param size         Dateigröße in Bytes
+ * @param lastModified Zeitpunkt der letzten Änderung
+ */
+public record GuidelineVersion(long size, FileTime lastModified) {
+
+    /**
+     * Ermittelt den aktuellen Stand einer Datei.
+     *
+     * @param path Pfad zur Guideline-Datei
+     * @return Aktueller Stand der Datei
+     * @throws UncheckedIOException wenn die Dateiattribute nicht gelesen werden können
+     */
+    public static GuidelineVersion of(Path path) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return new GuidelineVersion(attributes.size(), attributes.lastModifiedTime());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read attributes of coding guideline: " + path, e);
+        }
+    }
+}
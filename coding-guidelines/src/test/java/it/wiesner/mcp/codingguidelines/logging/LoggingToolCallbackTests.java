@@ -0,0 +1,112 @@
+package it.wiesner.mcp.codingguidelines.logging;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+
+import java.util.Map;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+class LoggingToolCallbackTests {
+
+	private final Logger logger = (Logger) LoggerFactory.getLogger(LoggingToolCallback.LOGGER_NAME);
+
+	private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+	@BeforeEach
+	void setUp() {
+		appender.start();
+		logger.addAppender(appender);
+	}
+
+	@AfterEach
+	void tearDown() {
+		logger.detachAppender(appender);
+		appender.stop();
+	}
+
+	@Test
+	void testSuccessfulCallIsLoggedOnce() {
+		ToolCallback callback = new LoggingToolCallback(new EchoToolCallback());
+
+		String result = callback.call("{\"a\":1}", new ToolContext(Map.of("key", "value")));
+
+		assertEquals("{\"a\":1}", result, "Result should be passed through");
+		assertEquals(1, appender.list.size(), "Exactly one record should be logged");
+		String message = appender.list.get(0).getFormattedMessage();
+		assertTrue(message.startsWith("tool=echo status=ok durationMicros="), message);
+		assertTrue(message.endsWith("inputChars=7 outputChars=7 args=a:1"), message);
+	}
+
+	@Test
+	void testFailedCallIsLogged() {
+		ToolCallback callback = new LoggingToolCallback(new EchoToolCallback());
+
+		assertThrows(IllegalStateException.class, () -> callback.call("fail"));
+
+		assertEquals(1, appender.list.size(), "Failed calls should be logged as well");
+		String message = appender.list.get(0).getFormattedMessage();
+		assertTrue(message.startsWith("tool=echo status=error"), message);
+		assertTrue(message.endsWith("inputChars=4 outputChars=0 args=invalid"), message);
+	}
+
+	@Test
+	void testArgumentSizes() {
+		String input = "{\"files\":{\"a.txt\":\"abc\",\"b.txt\":\"\"},\"message\":\"hello\",\"revision\":12,\"flags\":[1,2]}";
+
+		assertEquals("files:26,message:7,revision:2,flags:5", LoggingToolCallback.argumentSizes(input));
+		assertEquals("", LoggingToolCallback.argumentSizes("{}"));
+		assertEquals("", LoggingToolCallback.argumentSizes(null));
+	}
+
+	@Test
+	void testArgumentSizesAreOmittedForLargeInput() {
+		String input = "{\"content\":\"" + "x".repeat(LoggingToolCallback.MAX_ARGUMENT_SCAN_CHARS) + "\"}";
+
+		assertEquals("omitted", LoggingToolCallback.argumentSizes(input), "Large inputs should not be scanned");
+	}
+
+	@Test
+	void testDefinitionIsDelegated() {
+		ToolCallback delegate = new EchoToolCallback();
+
+		assertSame(delegate.getToolDefinition(), new LoggingToolCallback(delegate).getToolDefinition());
+	}
+
+	/** Einfaches Tool, das seine Eingabe zurückgibt oder bei "fail" eine Exception wirft */
+	static class EchoToolCallback implements ToolCallback {
+
+		private final ToolDefinition definition = ToolDefinition.builder()
+			.name("echo")
+			.description("Echoes its input")
+			.inputSchema("{}")
+			.build();
+
+		@Override
+		public ToolDefinition getToolDefinition() {
+			return definition;
+		}
+
+		@Override
+		public String call(String toolInput) {
+			if ("fail".equals(toolInput)) {
+				throw new IllegalStateException("Tool failed");
+			}
+			return toolInput;
+		}
+
+		@Override
+		public String call(String toolInput, ToolContext toolContext) {
+			return call(toolInput);
+		}
+	}
+}
@@ -0,0 +1,184 @@
+package it.wiesner.mcp.codingguidelines.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import it.wiesner.mcp.codingguidelines.model.CodingGuideline;
+
+class FileGuidelineStoreTests {
+
+	@TempDir
+	Path guidelineDir;
+
+	@Test
+	void testDisabledWithoutDirectory() {
+		FileGuidelineStore store = new FileGuidelineStore("", 1024, 10);
+		assertFalse(store.isEnabled(), "Store should be disabled without directory");
+		assertNull(store.get("java"), "Disabled store should not return guidelines");
+	}
+
+	@Test
+	void testLoadGuidelinesFromNestedDirectories() throws IOException {
+		write("coding_guidelines_java.md", "# Java Ümläüte");
+		write("frameworks/coding_guidelines_java-spring.md", "# Spring");
+		write("frameworks/notes.md", "ignored");
+
+		FileGuidelineStore store = new FileGuidelineStore(guidelineDir.toString(), 1024, 10);
+
+		assertTrue(store.isEnabled(), "Store should be enabled");
+		assertEquals("# Java Ümläüte", store.get("JAVA").getRules(), "UTF-8 content should be decoded");
+		assertEquals("# Spring", store.get("java-spring").getRules(), "Nested guideline should be indexed");
+		assertNull(store.get("notes"), "Files not matching the pattern should be ignored");
+
+		List<GuidelineInfo> all = store.list();
+		assertEquals(List.of(new GuidelineInfo("java", 17), new GuidelineInfo("java-spring", 8)), all,
+			"Metadata should be sorted by language with UTF-8 sizes");
+	}
+
+	@Test
+	void testPageIsBoundedAndBypassesCache() throws IOException {
+		for (char c = 'a'; c <= 'e'; c++) {
+			write("coding_guidelines_" + c + ".md", String.valueOf(c));
+		}
+
+		FileGuidelineStore store = new FileGuidelineStore(guidelineDir.toString(), 1024, 2);
+
+		List<CodingGuideline> page = store.getPage(1, 100);
+		assertEquals(List.of("b", "c"), page.stream().map(CodingGuideline::getLanguage).toList(),
+			"Page should start at offset and be limited to the maximum page size");
+		assertEquals("b", page.get(0).getRules());
+		assertTrue(store.getPage(5, 2).isEmpty(), "Page after the last guideline should be empty");
+
+		GuidelineStoreStats stats = store.getStats();
+		assertEquals(0, stats.cachedDocuments(), "Pages should not be cached");
+		assertEquals(0, stats.hits() + stats.misses(), "Pages should not affect the cache statistics");
+	}
+
+	@Test
+	void testCacheWeightUsesCurrentContent() throws IOException {
+		write("coding_guidelines_java.md", "x");
+
+		FileGuidelineStore store = new FileGuidelineStore(guidelineDir.toString(), 100, 10);
+		// Datei wächst nach der Indizierung über die Cache-Obergrenze
+		write("coding_guidelines_java.md", "x".repeat(200));
+
+		assertEquals(200, store.get("java").getRules().length());
+		assertEquals(0, store.getStats().cachedBytes(), "Grown document should be weighted by its current content");
+	}
+
+	@Test
+	void testCacheWeightIsHeapSize() throws IOException {
+		// 50 Zeichen, aber nur 52 Bytes UTF-8 - auf dem Heap 2 Byte je Zeichen
+		write("coding_guidelines_java.md", "a".repeat(49) + "→");
+		write("coding_guidelines_kotlin.md", "b".repeat(50));
+
+		FileGuidelineStore store = new FileGuidelineStore(guidelineDir.toString(), 99, 10);
+		store.get("java");
+		store.get("kotlin");
+
+		GuidelineStoreStats stats = store.getStats();
+		assertEquals(0, stats.cachedDocuments(), "Documents should be weighted by their decoded heap size");
+		assertEquals(0, stats.cachedBytes());
+	}
+
+	@Test
+	void testChangedDocumentIsReloaded() throws IOException {
+		write("coding_guidelines_java.md", "old");
+
+		FileGuidelineStore store = new FileGuidelineStore(guidelineDir.toString(), 1024, 10);
+		assertEquals("old", store.get("java").getRules());
+		assertEquals("old", store.get("java").getRules());
+
+		write("coding_guidelines_java.md", "new content");
+
+		assertEquals("new content", store.get("java").getRules(), "Changed file should not be served from the cache");
+		assertEquals("new content", store.getPage(0, 1).get(0).getRules());
+		assertEquals(List.of(new GuidelineInfo("java", 11)), store.list(), "Listing should report the current size");
+
+		GuidelineStoreStats stats = store.getStats();
+		assertEquals(1, stats.hits());
+		assertEquals(2, stats.misses());
+		assertEquals(1, stats.cachedDocuments(), "Stale entry should be replaced");
+	}
+
+	@Test
+	void testCacheHitsMissesAndEvictions() throws IOException {
+		write("coding_guidelines_a.md", "a".repeat(40));
+		write("coding_guidelines_b.md", "b".repeat(40));
+		write("coding_guidelines_c.md", "c".repeat(40));
+
+		FileGuidelineStore store = new FileGuidelineStore(guidelineDir.toString(), 200, 10);
+
+		store.get("a");
+		store.get("b");
+		store.get("a");
+		// c verdrängt b, da a zuletzt verwendet wurde
+		store.get("c");
+		store.get("a");
+
+		GuidelineStoreStats stats = store.getStats();
+		assertEquals(3, stats.indexedDocuments());
+		assertEquals(2, stats.cachedDocuments());
+		assertEquals(160, stats.cachedBytes(), "Weight should be two bytes per character");
+		assertEquals(2, stats.hits());
+		assertEquals(3, stats.misses());
+		assertEquals(1, stats.evictions());
+	}
+
+	@Test
+	void testOversizedDocumentIsNotCached() throws IOException {
+		write("coding_guidelines_big.md", "x".repeat(200));
+
+		FileGuidelineStore store = new FileGuidelineStore(guidelineDir.toString(), 100, 10);
+
+		assertEquals(200, store.get("big").getRules().length());
+		assertEquals(200, store.get("big").getRules().length());
+
+		GuidelineStoreStats stats = store.getStats();
+		assertEquals(0, stats.cachedDocuments(), "Oversized documents should not be cached");
+		assertEquals(2, stats.misses());
+		assertEquals(0, stats.evictions());
+	}
+
+	@Test
+	void testDuplicateLanguageIsRejected() throws IOException {
+		write("team-a/coding_guidelines_java.md", "A");
+		write("team-b/coding_guidelines_java.md", "B");
+
+		assertThrows(IllegalStateException.class,
+			() -> new FileGuidelineStore(guidelineDir.toString(), 1024, 10),
+			"Duplicate languages should be rejected");
+	}
+
+	@Test
+	void testMissingDirectoryIsRejected() {
+		assertThrows(IllegalArgumentException.class,
+			() -> new FileGuidelineStore(guidelineDir.resolve("missing").toString(), 1024, 10));
+	}
+
+	private void write(String relativePath, String content) throws IOException {
+		Path file = guidelineDir.resolve(relativePath);
+		Files.createDirectories(file.getParent());
+		// Änderungszeitpunkt explizit setzen, damit auch grob auflösende Dateisysteme
+		// eine Änderung innerhalb desselben Tests erkennen
+		FileTime lastModified = Files.exists(file)
+			? FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 1000)
+			: null;
+		Files.writeString(file, content);
+		if (lastModified != null) {
+			Files.setLastModifiedTime(file, lastModified);
+		}
+	}
+}
@@ -1,7 +1,6 @@
 package it.wiesner.mcp.simpleversioning;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 import org.springframework.ai.support.ToolCallbacks;
@@ -11,6 +10,8 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 
+import it.wiesner.mcp.simpleversioning.logging.LoggingToolCallback;
+
 /**
  * Hauptklasse der Simple Versioning Anwendung.
  * 
@@ -41,6 +42,12 @@ public class SimpleVersioningApplication {
 	 * Automatisch registrierte Tools:
 	 * - create_revision: Erstellt eine neue Revision mit übergebenen Dateien
 	 * - list_revisions: Listet alle existierenden Revisionsnummern auf
+	 * - read_file: Liest eine Datei aus einer Revision (transparent dekomprimiert)
+	 * - revision_info: Liefert Dateianzahl, Gesamtgröße und Datei-Metadaten einer Revision
+	 * - compare_revisions: Vergleicht zwei Revisionen anhand ihrer Manifeste
+	 * 
+	 * Jeder Tool-Callback wird mit einem LoggingToolCallback umhüllt, der jeden
+	 * Aufruf asynchron protokolliert.
 	 * 
 	 * @param svService Der Simple Versioning Service, dessen annotierte Methoden als Tools bereitgestellt werden
 	 * @return Liste der registrierten Tool-Callbacks für Spring AI MCP
@@ -48,8 +55,8 @@ public class SimpleVersioningApplication {
 	@Bean
 	public List<ToolCallback> danTools(SimpleVersioningService svService) {
 		List<ToolCallback> tools = new ArrayList<>();
-		// Extrahiert alle @Tool-annotierten Methoden aus dem Service und registriert sie
-		tools.addAll(Arrays.asList(ToolCallbacks.from(svService)));
+		// Extrahiert alle @Tool-annotierten Methoden aus dem Service und registriert sie (mit Aufruf-Logging)
+		tools.addAll(LoggingToolCallback.wrap(ToolCallbacks.from(svService)));
 		return tools;
 	}
 
@@ -1,16 +1,40 @@
 package it.wiesner.mcp.simpleversioning;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
+import jakarta.annotation.PreDestroy;
+
 import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import it.wiesner.mcp.simpleversioning.manifest.ManifestEntry;
+import it.wiesner.mcp.simpleversioning.manifest.ManifestStore;
+import it.wiesner.mcp.simpleversioning.manifest.RevisionComparison;
+import it.wiesner.mcp.simpleversioning.manifest.RevisionManifest;
+import it.wiesner.mcp.simpleversioning.storage.CompressedFileStorage;
+
 /**
  * Service für einfache Dateiversionierung.
  * Erstellt versionierte Snapshots von Dateien in C:\Temp mit aufsteigenden Revisionsnummern.
@@ -19,6 +43,9 @@ import org.springframework.stereotype.Service;
  * - Jede Revision erhält ein eigenes Verzeichnis mit einer fortlaufenden Nummer
  * - Dateien werden mit ihrer relativen Pfadstruktur gespeichert
  * - Das System verwaltet automatisch die Revisionsnummern
+ * - Dateien können optional komprimiert abgelegt werden (siehe CompressedFileStorage)
+ * - Jede Revision erhält ein Manifest mit den Metadaten aller Dateien (siehe ManifestStore),
+ *   über das Auskünfte und Vergleiche ohne Durchlaufen des Verzeichnisbaums möglich sind
  */
 @Service
 public class SimpleVersioningService {
@@ -26,44 +53,317 @@ public class SimpleVersioningService {
     // Basisverzeichnis für alle Revisionen - jede Revision erhält ein eigenes Unterverzeichnis
     private static final String BASE_PATH = "C:\\Temp";
 
+    // Präfix der temporären Verzeichnisse, in denen neue Revisionen aufgebaut werden
+    private static final String STAGING_PREFIX = ".staging-";
+
+    // Wartende Schreibvorgänge je Thread, bevor der aufrufende Thread selbst schreibt
+    private static final int WRITE_QUEUE_PER_THREAD = 16;
+
+    // Dateiablage mit optionaler, transparenter Kompression
+    private final CompressedFileStorage storage;
+
+    // Ablage und Cache der Revisions-Manifeste
+    private final ManifestStore manifestStore;
+
+    // Eigene Threads für das Schreiben der Revisionsdateien - blockierende Datei-I/O
+    // soll den gemeinsamen ForkJoinPool nicht belegen
+    private final ThreadPoolExecutor writeExecutor;
+
+    /**
+     * Konstruktor für den SimpleVersioningService.
+     * 
+     * Die Warteschlange der Schreibvorgänge ist begrenzt; ist sie voll, schreibt der
+     * aufrufende Thread selbst und bremst damit sehr große Revisionen aus.
+     * 
+     * @param storage Dateiablage, über die alle Revisionsdateien geschrieben und gelesen werden
+     * @param manifestStore Ablage der Revisions-Manifeste
+     * @param writeThreads Anzahl der Threads für das Schreiben der Revisionsdateien
+     */
+    public SimpleVersioningService(
+            CompressedFileStorage storage,
+            ManifestStore manifestStore,
+            @Value("${versioning.write.threads:4}") int writeThreads) {
+        this.storage = storage;
+        this.manifestStore = manifestStore;
+        this.writeExecutor = new ThreadPoolExecutor(writeThreads, writeThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(writeThreads * WRITE_QUEUE_PER_THREAD),
+                Thread.ofPlatform().name("revision-writer-", 1).daemon().factory(),
+                (task, executor) -> {
+                    if (executor.isShutdown()) {
+                        throw new RejectedExecutionException("Revision writer is shut down");
+                    }
+                    task.run();
+                });
+    }
+
     /**
      * Erstellt eine neue Revision mit den übergebenen Dateien.
      * 
      * Ablauf:
-     * 1. Ermittelt die nächste verfügbare Revisionsnummer
-     * 2. Erstellt ein Revisionsverzeichnis (z.B. C:\Temp\5 für Revision 5)
-     * 3. Speichert alle Dateien mit ihrer relativen Pfadstruktur in diesem Verzeichnis
+     * 1. Erstellt ein temporäres Verzeichnis im Basisverzeichnis (z.B. C:\Temp\.staging-123)
+     * 2. Speichert alle Dateien mit ihrer relativen Pfadstruktur in diesem Verzeichnis
+     * 3. Ermittelt die nächste verfügbare Revisionsnummer und schreibt das Manifest
+     *    mit Pfad, Größe, Hash und Zeitstempel jeder Datei
+     * 4. Benennt das Verzeichnis atomar in die Revisionsnummer um (z.B. C:\Temp\5)
+     * 
+     * Eine Revision wird dadurch erst sichtbar, wenn sie vollständig ist. Schlägt das
+     * Schreiben fehl, wird das temporäre Verzeichnis gelöscht und keine Revision angelegt.
+     * 
+     * Die Dateien werden parallel auf einem eigenen Thread-Pool geschrieben, damit eine
+     * aktivierte Kompression und die Hash-Berechnung mehrere CPU-Kerne nutzen
+     * (Property versioning.write.threads, Standard: 4).
+     * 
+     * Die Pfade werden normalisiert ("./a.txt", "src//A.java" und "src\\A.java" werden
+     * zu "a.txt", "src/A.java" bzw. "src/A.java").
      * 
      * @param files Map, bei der der Schlüssel der relative Dateipfad und der Wert der Dateiinhalt ist
      * @return Die erstellte Revisionsnummer
+     * @throws IllegalArgumentException wenn ein Pfad aus dem Revisionsverzeichnis herausführt, nach der
+     *         Normalisierung doppelt vorkommt oder für das Manifest reserviert ist
      * @throws IOException wenn ein I/O-Fehler auftritt
      */
     @Tool(name = "create_revision", description = "Creates a new revision with the provided files. Takes a map of relative file paths to file contents.")
     public int createRevision(Map<String, String> files) throws IOException {
-        // Nächste verfügbare Revisionsnummer ermitteln
-        int nextRevision = getNextRevisionNumber();
-        Path revisionPath = Paths.get(BASE_PATH, String.valueOf(nextRevision));
-        
-        // Revisionsverzeichnis erstellen (z.B. C:\Temp\5)
-        Files.createDirectories(revisionPath);
+        Path basePath = Paths.get(BASE_PATH);
+        Files.createDirectories(basePath);
         
-        // Alle Dateien in das Revisionsverzeichnis kopieren
-        for (Map.Entry<String, String> entry : files.entrySet()) {
-            String relativePath = entry.getKey();
-            String content = entry.getValue();
-            
-            // Zieldatei mit vollständigem Pfad erstellen (z.B. C:\Temp\5\src\main.java)
-            Path targetFile = revisionPath.resolve(relativePath);
-            
-            // Übergeordnete Verzeichnisse anlegen, falls sie nicht existieren
-            // Wichtig für verschachtelte Pfade wie "src/main/java/MyClass.java"
-            Files.createDirectories(targetFile.getParent());
+        // Revision in einem temporären Verzeichnis aufbauen - der Name ist nicht numerisch,
+        // daher wird es weder als Revision gelistet noch gelesen
+        Path stagingPath = Files.createTempDirectory(basePath, STAGING_PREFIX);
+        try {
+            List<ManifestEntry> entries = writeFiles(stagingPath, normalizeFiles(stagingPath, files));
             
-            // Dateiinhalt schreiben - CREATE erstellt neue Datei, TRUNCATE_EXISTING überschreibt existierende
-            Files.writeString(targetFile, content, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+            while (true) {
+                // Nächste verfügbare Revisionsnummer ermitteln
+                int nextRevision = getNextRevisionNumber();
+                Path revisionPath = basePath.resolve(String.valueOf(nextRevision));
+                
+                // Manifest erst nach allen Dateien schreiben - eine Revision mit Manifest ist vollständig
+                manifestStore.write(stagingPath, RevisionManifest.of(nextRevision, entries));
+                
+                try {
+                    Files.move(stagingPath, revisionPath, StandardCopyOption.ATOMIC_MOVE);
+                    return nextRevision;
+                } catch (FileSystemException e) {
+                    // Revisionsnummer wurde gleichzeitig vergeben - mit der nächsten erneut versuchen
+                    if (!Files.exists(revisionPath)) {
+                        throw e;
+                    }
+                }
+            }
+        } finally {
+            // Nach erfolgreichem Umbenennen existiert das temporäre Verzeichnis nicht mehr
+            deleteDirectory(stagingPath);
+        }
+    }
+
+    /**
+     * Normalisiert und prüft alle Dateipfade, bevor eine Datei geschrieben wird.
+     * 
+     * Datei und Manifest-Eintrag verwenden anschließend denselben, normalisierten Pfad.
+     * 
+     * @param revisionPath Verzeichnis, in das die Revision geschrieben wird
+     * @param files Dateien mit den Pfaden, wie sie vom Client übergeben wurden
+     * @return Dateien mit normalisierten Pfaden in der ursprünglichen Reihenfolge
+     * @throws IllegalArgumentException wenn ein Pfad ungültig, reserviert oder doppelt ist
+     */
+    private Map<String, String> normalizeFiles(Path revisionPath, Map<String, String> files) {
+        Map<String, String> normalizedFiles = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : files.entrySet()) {
+            String relativePath = normalizeRelativePath(revisionPath, entry.getKey());
+            if (ManifestStore.isReservedPath(relativePath)) {
+                throw new IllegalArgumentException("Reserved file name: " + entry.getKey());
+            }
+            if (normalizedFiles.putIfAbsent(relativePath, entry.getValue()) != null) {
+                throw new IllegalArgumentException("Duplicate file path after normalization: " + entry.getKey());
+            }
         }
+        return normalizedFiles;
+    }
+
+    /**
+     * Schreibt alle Dateien parallel in ein Verzeichnis (ggf. komprimiert).
+     * 
+     * Zieldatei z.B. C:\Temp\.staging-123\src\main.java - übergeordnete Verzeichnisse
+     * legt die Ablage an. Schlägt eine Datei fehl, wird auf alle bereits laufenden
+     * Schreibvorgänge gewartet, damit das Verzeichnis anschließend gelöscht werden kann.
+     * 
+     * @param revisionPath Zielverzeichnis
+     * @param files Dateien mit normalisierten Pfaden
+     * @return Manifest-Einträge der geschriebenen Dateien
+     * @throws IOException wenn ein I/O-Fehler auftritt
+     */
+    private List<ManifestEntry> writeFiles(Path revisionPath, Map<String, String> files) throws IOException {
+        List<Future<ManifestEntry>> futures = new ArrayList<>(files.size());
+        try {
+            for (Map.Entry<String, String> entry : files.entrySet()) {
+                futures.add(writeExecutor.submit(() -> {
+                    byte[] data = entry.getValue().getBytes(StandardCharsets.UTF_8);
+                    storage.write(revisionPath.resolve(entry.getKey()), data);
+                    return ManifestEntry.of(entry.getKey(), data, System.currentTimeMillis());
+                }));
+            }
+            List<ManifestEntry> entries = new ArrayList<>(futures.size());
+            for (Future<ManifestEntry> future : futures) {
+                entries.add(future.get());
+            }
+            return entries;
+        } catch (ExecutionException e) {
+            awaitTermination(futures);
+            // Ursprüngliche Exception an den Aufrufer weitergeben
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Writing revision failed", e.getCause());
+        } catch (InterruptedException e) {
+            awaitTermination(futures);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing revision");
+        }
+    }
+
+    /**
+     * Bricht noch nicht gestartete Schreibvorgänge ab und wartet auf die laufenden.
+     * 
+     * @param futures Schreibvorgänge einer Revision
+     */
+    private static void awaitTermination(List<Future<ManifestEntry>> futures) {
+        futures.forEach(future -> future.cancel(false));
+        boolean interrupted = false;
+        for (Future<ManifestEntry> future : futures) {
+            while (!future.isDone()) {
+                try {
+                    future.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException | CancellationException e) {
+                    // Fehler wurde bereits behandelt bzw. Vorgang wurde nie gestartet
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Beendet die Threads für das Schreiben der Revisionsdateien.
+     */
+    @PreDestroy
+    public void shutdown() {
+        writeExecutor.shutdown();
+    }
+
+    /**
+     * Löscht ein Verzeichnis samt Inhalt, falls es existiert.
+     * 
+     * @param directory Zu löschendes Verzeichnis
+     * @throws IOException wenn ein I/O-Fehler auftritt
+     */
+    private static void deleteDirectory(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            // Tiefste Pfade zuerst, damit Verzeichnisse beim Löschen leer sind
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    /**
+     * Liest den Inhalt einer Datei aus einer Revision.
+     * 
+     * Komprimiert abgelegte Dateien werden dabei transparent dekomprimiert.
+     * 
+     * @param revision Revisionsnummer
+     * @param relativePath Relativer Dateipfad innerhalb der Revision
+     * @return Der Dateiinhalt
+     * @throws IllegalArgumentException wenn der Pfad aus dem Revisionsverzeichnis herausführt
+     * @throws NoSuchFileException wenn die Datei in der Revision nicht existiert
+     * @throws IOException wenn ein I/O-Fehler auftritt
+     */
+    @Tool(name = "read_file", description = "Reads the content of a file from the given revision. Takes the revision number and the relative file path.")
+    public String readFile(int revision, String relativePath) throws IOException {
+        Path revisionPath = Paths.get(BASE_PATH, String.valueOf(revision));
+        return storage.readString(revisionPath.resolve(normalizeRelativePath(revisionPath, relativePath)));
+    }
+
+    /**
+     * Normalisiert einen relativen Dateipfad innerhalb einer Revision.
+     * 
+     * Backslashes werden als Trennzeichen behandelt, "." und doppelte Trennzeichen
+     * entfernt und ".." aufgelöst. Das Ergebnis verwendet "/" als Trennzeichen und
+     * ist damit auf allen Plattformen identisch.
+     * 
+     * @param revisionPath Revisionsverzeichnis
+     * @param relativePath Relativer Dateipfad, wie vom Client übergeben
+     * @return Normalisierter Pfad (z.B. "src/Main.java")
+     * @throws IllegalArgumentException wenn der Pfad leer ist oder aus dem Revisionsverzeichnis herausführt
+     */
+    private static String normalizeRelativePath(Path revisionPath, String relativePath) {
+        Path targetFile = revisionPath.resolve(relativePath.replace('\\', '/')).normalize();
         
-        return nextRevision;
+        // Zugriffe außerhalb des Revisionsverzeichnisses verhindern (z.B. "../1/secret.txt")
+        if (!targetFile.startsWith(revisionPath) || targetFile.equals(revisionPath)) {
+            throw new IllegalArgumentException("Path outside of revision: " + relativePath);
+        }
+        
+        return revisionPath.relativize(targetFile).toString().replace('\\', '/');
+    }
+
+    /**
+     * Liefert Metadaten zu einer Revision aus ihrem Manifest.
+     * 
+     * Enthält Anzahl der Dateien, Gesamtgröße sowie Pfad, Größe, SHA-256 Hash und
+     * Zeitstempel jeder Datei. Der Verzeichnisbaum wird dabei nicht durchlaufen.
+     * 
+     * @param revision Revisionsnummer
+     * @return Manifest der Revision
+     * @throws IllegalArgumentException wenn die Revision nicht existiert
+     * @throws IOException wenn ein I/O-Fehler auftritt
+     */
+    @Tool(name = "revision_info", description = "Returns file count, total bytes and per-file metadata (path, size, sha256, timestamp) of the given revision")
+    public RevisionManifest revisionInfo(int revision) throws IOException {
+        return manifestStore.read(revision, getExistingRevisionPath(revision));
+    }
+
+    /**
+     * Vergleicht zwei Revisionen anhand ihrer Manifeste.
+     * 
+     * Dateien werden über Pfad und Inhalts-Hash verglichen, ohne die Dateien
+     * selbst zu lesen.
+     * 
+     * @param fromRevision Ausgangsrevision
+     * @param toRevision Zielrevision
+     * @return Hinzugefügte, entfernte und geänderte Dateipfade
+     * @throws IllegalArgumentException wenn eine der Revisionen nicht existiert
+     * @throws IOException wenn ein I/O-Fehler auftritt
+     */
+    @Tool(name = "compare_revisions", description = "Compares two revisions and returns the added, removed and modified file paths")
+    public RevisionComparison compareRevisions(int fromRevision, int toRevision) throws IOException {
+        RevisionManifest from = manifestStore.read(fromRevision, getExistingRevisionPath(fromRevision));
+        RevisionManifest to = manifestStore.read(toRevision, getExistingRevisionPath(toRevision));
+        return RevisionComparison.of(from, to);
+    }
+
+    /**
+     * Ermittelt das Verzeichnis einer existierenden Revision.
+     * 
+     * @param revision Revisionsnummer
+     * @return Pfad des Revisionsverzeichnisses
+     * @throws IllegalArgumentException wenn die Revision nicht existiert
+     */
+    private Path getExistingRevisionPath(int revision) {
+        Path revisionPath = Paths.get(BASE_PATH, String.valueOf(revision));
+        if (!Files.isDirectory(revisionPath)) {
+            throw new IllegalArgumentException("Revision not found: " + revision);
+        }
+        return revisionPath;
     }
 
     /**
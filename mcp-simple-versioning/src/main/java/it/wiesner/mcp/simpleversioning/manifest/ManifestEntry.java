@@ -0,0 +1,48 @@
+package it.wiesner.mcp.simpleversioning.manifest;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Metadaten einer einzelnen Datei innerhalb einer Revision.
+ *
+ * @param path      Relativer Dateipfad innerhalb der Revision (mit "/" als Trennzeichen)
+ * @param size      Unkomprimierte Dateigröße in Bytes
+ * @param sha256    SHA-256 Hash des unkomprimierten Inhalts (hexadezimal)
+ * @param timestamp Zeitpunkt des Schreibens in Millisekunden seit 1970
+ */
+public record ManifestEntry(String path, long size, String sha256, long timestamp) {
+
+    /** Algorithmus für den Inhalts-Hash */
+    static final String HASH_ALGORITHM = "SHA-256";
+
+    /** Länge des Hashes in Bytes */
+    static final int HASH_LENGTH = 32;
+
+    /**
+     * Erstellt einen Eintrag und berechnet dabei den Hash des Inhalts.
+     *
+     * @param path      Relativer Dateipfad innerhalb der Revision
+     * @param data      Unkomprimierter Dateiinhalt
+     * @param timestamp Zeitpunkt des Schreibens in Millisekunden seit 1970
+     * @return Manifest-Eintrag für die Datei
+     */
+    public static ManifestEntry of(String path, byte[] data, long timestamp) {
+        return new ManifestEntry(path, data.length, HexFormat.of().formatHex(newDigest().digest(data)), timestamp);
+    }
+
+    /**
+     * Erstellt einen neuen MessageDigest für den Inhalts-Hash.
+     *
+     * @return MessageDigest für SHA-256
+     */
+    static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 ist in jeder Java-Plattform vorgeschrieben
+            throw new IllegalStateException("Hash algorithm not available: " + HASH_ALGORITHM, e);
+        }
+    }
+}
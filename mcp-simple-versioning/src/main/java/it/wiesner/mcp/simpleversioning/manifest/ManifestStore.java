@@ -0,0 +1,324 @@
+package it.wiesner.mcp.simpleversioning.manifest;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import it.wiesner.mcp.simpleversioning.storage.CompressedFileStorage;
+
+/**
+ * Ablage und Cache für Revisions-Manifeste.
+ *
+ * Funktionsweise:
+ * - Jede Revision erhält eine kompakte Binärdatei ".manifest" im Revisionsverzeichnis
+ * - Zuletzt verwendete Manifeste werden in einem LRU-Cache gehalten
+ *   (Property versioning.manifest.cache-size, Standard: 64)
+ * - Für Revisionen ohne Manifest (vor Einführung der Manifeste erstellt) wird das
+ *   Manifest einmalig aus dem Verzeichnisbaum erzeugt und gespeichert
+ * - Manifeste werden in eine temporäre Datei geschrieben und atomar umbenannt, damit
+ *   Leser nie eine halb geschriebene Datei sehen
+ * - Das Erzeugen aus dem Verzeichnisbaum ist je Revision serialisiert und ersetzt nie
+ *   ein gültiges Manifest
+ *
+ * Binärformat (DataOutputStream, Big Endian):
+ * - int Magic "MAN1", int Revisionsnummer, int Anzahl der Einträge
+ * - je Eintrag: UTF Pfad, long Größe, 32 Byte SHA-256, long Zeitstempel
+ */
+@Component
+public class ManifestStore {
+
+    /** Dateiname des Manifests im Revisionsverzeichnis */
+    public static final String MANIFEST_FILE_NAME = ".manifest";
+
+    /** Kennung am Dateianfang ("MAN1") - erkennt fremde oder veraltete Dateien */
+    private static final int MAGIC = 0x4D414E31;
+
+    /** Größe des Kopfs in Bytes: Magic, Revisionsnummer, Anzahl der Einträge */
+    private static final int HEADER_SIZE = 3 * Integer.BYTES;
+
+    /** Mindestgröße eines Eintrags in Bytes: Länge des Pfads, Größe, Hash, Zeitstempel */
+    private static final int MIN_ENTRY_SIZE = Short.BYTES + Long.BYTES + ManifestEntry.HASH_LENGTH + Long.BYTES;
+
+    /** Dateiablage zum Lesen der Dateien beim nachträglichen Erzeugen eines Manifests */
+    private final CompressedFileStorage storage;
+
+    /** LRU-Cache der zuletzt verwendeten Manifeste, Schlüssel ist das Revisionsverzeichnis */
+    private final Map<Path, CachedManifest> cache;
+
+    /** Sperrobjekte je Revisionsverzeichnis für das Erzeugen fehlender Manifeste */
+    private final ConcurrentHashMap<Path, Object> rebuildLocks = new ConcurrentHashMap<>();
+
+    /**
+     * Konstruktor für den ManifestStore.
+     *
+     * @param storage   Dateiablage der Revisionsdateien
+     * @param cacheSize Maximale Anzahl gecachter Manifeste
+     */
+    public ManifestStore(
+            CompressedFileStorage storage,
+            @Value("${versioning.manifest.cache-size:64}") int cacheSize) {
+        this.storage = storage;
+        // accessOrder = true: der am längsten nicht verwendete Eintrag wird verdrängt
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Path, CachedManifest> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Prüft, ob ein normalisierter Pfad für das Manifest reserviert ist.
+     *
+     * Reserviert sind alle Dateien im Wurzelverzeichnis der Revision, deren Name
+     * mit ".manifest" beginnt (Manifest und dessen temporäre Dateien).
+     *
+     * @param relativePath Normalisierter relativer Pfad mit "/" als Trennzeichen
+     * @return true, wenn der Pfad reserviert ist
+     */
+    public static boolean isReservedPath(String relativePath) {
+        return relativePath.indexOf('/') < 0 && relativePath.startsWith(MANIFEST_FILE_NAME);
+    }
+
+    /**
+     * Schreibt das Manifest einer Revision, die noch aufgebaut wird.
+     *
+     * Das Manifest wird erst beim Lesen der veröffentlichten Revision in den Cache
+     * übernommen, da sich das Verzeichnis bis dahin noch ändert.
+     *
+     * @param revisionPath Verzeichnis, in dem die Revision aufgebaut wird
+     * @param manifest     Zu schreibendes Manifest
+     * @throws IOException wenn ein I/O-Fehler auftritt
+     */
+    public void write(Path revisionPath, RevisionManifest manifest) throws IOException {
+        writeManifestFile(revisionPath, manifest, true);
+    }
+
+    /**
+     * Liefert das Manifest einer Revision - aus dem Cache, der Manifest-Datei oder,
+     * falls keine gültige existiert, einmalig aus dem Verzeichnisbaum erzeugt.
+     *
+     * Revisionen werden vollständig aufgebaut, bevor ihr Verzeichnis sichtbar wird
+     * (siehe SimpleVersioningService#createRevision). Ein Revisionsverzeichnis ohne
+     * Manifest stammt daher aus der Zeit vor Einführung der Manifeste.
+     *
+     * @param revision     Revisionsnummer
+     * @param revisionPath Revisionsverzeichnis
+     * @return Manifest der Revision
+     * @throws IOException wenn ein I/O-Fehler auftritt
+     */
+    public RevisionManifest read(int revision, Path revisionPath) throws IOException {
+        Path manifestFile = revisionPath.resolve(MANIFEST_FILE_NAME);
+        RevisionManifest manifest = loadManifest(revision, revisionPath, manifestFile);
+        if (manifest != null) {
+            return manifest;
+        }
+
+        // Ältere Revision ohne Manifest: einmalig aus dem Verzeichnisbaum erzeugen.
+        // Gleichzeitige Aufrufe für dieselbe Revision warten, statt den Baum mehrfach zu lesen.
+        Object lock = rebuildLocks.computeIfAbsent(revisionPath, p -> new Object());
+        try {
+            synchronized (lock) {
+                manifest = loadManifest(revision, revisionPath, manifestFile);
+                if (manifest != null) {
+                    return manifest;
+                }
+                manifest = buildFromTree(revision, revisionPath);
+                // Nur ein beschädigtes Manifest wird ersetzt - ein zwischenzeitlich von einem
+                // anderen Prozess geschriebenes Manifest bleibt erhalten
+                boolean replace = Files.exists(manifestFile);
+                try {
+                    writeManifestFile(revisionPath, manifest, replace);
+                } catch (FileAlreadyExistsException e) {
+                    RevisionManifest written = loadManifest(revision, revisionPath, manifestFile);
+                    if (written == null) {
+                        throw e;
+                    }
+                    return written;
+                }
+                cacheManifest(revisionPath, manifest, Files.getLastModifiedTime(manifestFile));
+                return manifest;
+            }
+        } finally {
+            rebuildLocks.remove(revisionPath, lock);
+        }
+    }
+
+    /**
+     * Schreibt ein Manifest in eine temporäre Datei und benennt diese anschließend um,
+     * damit Leser nie eine halb geschriebene Datei sehen.
+     *
+     * @param replace true, um ein vorhandenes Manifest atomar zu ersetzen; false, um mit
+     *                FileAlreadyExistsException abzubrechen, falls bereits eines existiert
+     */
+    private static void writeManifestFile(Path revisionPath, RevisionManifest manifest, boolean replace)
+            throws IOException {
+        Path manifestFile = revisionPath.resolve(MANIFEST_FILE_NAME);
+        // Temporäre Datei im selben Verzeichnis, damit das Umbenennen atomar möglich ist
+        Path tempFile = Files.createTempFile(revisionPath, MANIFEST_FILE_NAME, ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(tempFile)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(manifest.revision());
+                out.writeInt(manifest.fileCount());
+                for (ManifestEntry entry : manifest.files()) {
+                    out.writeUTF(entry.path());
+                    out.writeLong(entry.size());
+                    out.write(HexFormat.of().parseHex(entry.sha256()));
+                    out.writeLong(entry.timestamp());
+                }
+            }
+            if (replace) {
+                Files.move(tempFile, manifestFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                // Ohne REPLACE_EXISTING bricht das Umbenennen ab, wenn das Ziel existiert
+                Files.move(tempFile, manifestFile);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Liefert das Manifest aus dem Cache oder der Manifest-Datei.
+     *
+     * Ein Cache-Eintrag gilt nur, solange die Manifest-Datei unverändert ist. Fehlt die
+     * Datei oder ist sie beschädigt (z.B. abgebrochener Schreibvorgang vor Einführung
+     * des atomaren Schreibens, ungültige Anzahl der Einträge oder fremde Revisionsnummer),
+     * wird null geliefert und das Manifest neu erzeugt.
+     */
+    private RevisionManifest loadManifest(int revision, Path revisionPath, Path manifestFile) throws IOException {
+        FileTime lastModified;
+        try {
+            lastModified = Files.getLastModifiedTime(manifestFile);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+
+        RevisionManifest manifest = cachedManifest(revisionPath, lastModified);
+        if (manifest != null) {
+            return manifest;
+        }
+
+        try {
+            manifest = readManifestFile(revision, manifestFile);
+        } catch (EOFException | InvalidManifestException e) {
+            return null;
+        }
+        cacheManifest(revisionPath, manifest, lastModified);
+        return manifest;
+    }
+
+    /**
+     * Liest und validiert eine Manifest-Datei.
+     *
+     * Kennung, Revisionsnummer und Anzahl der Einträge werden geprüft, bevor Speicher
+     * für die Einträge reserviert wird - eine beschädigte Anzahl darf keinen
+     * OutOfMemoryError auslösen.
+     */
+    private static RevisionManifest readManifestFile(int expectedRevision, Path manifestFile) throws IOException {
+        long fileSize = Files.size(manifestFile);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(manifestFile)))) {
+            if (in.readInt() != MAGIC) {
+                throw new InvalidManifestException("Invalid revision manifest: " + manifestFile);
+            }
+            int revision = in.readInt();
+            if (revision != expectedRevision) {
+                throw new InvalidManifestException("Manifest of revision " + revision + " found in " + manifestFile);
+            }
+            int count = in.readInt();
+            if (count < 0 || count > (fileSize - HEADER_SIZE) / MIN_ENTRY_SIZE) {
+                throw new InvalidManifestException("Invalid entry count " + count + " in " + manifestFile);
+            }
+            List<ManifestEntry> entries = new ArrayList<>(count);
+            byte[] hash = new byte[ManifestEntry.HASH_LENGTH];
+            for (int i = 0; i < count; i++) {
+                String path = in.readUTF();
+                long size = in.readLong();
+                in.readFully(hash);
+                long timestamp = in.readLong();
+                entries.add(new ManifestEntry(path, size, HexFormat.of().formatHex(hash), timestamp));
+            }
+            return RevisionManifest.of(revision, entries);
+        }
+    }
+
+    /**
+     * Erzeugt ein Manifest durch Lesen aller Dateien einer Revision.
+     *
+     * Größe und Hash beziehen sich immer auf den unkomprimierten Inhalt.
+     */
+    private RevisionManifest buildFromTree(int revision, Path revisionPath) throws IOException {
+        List<ManifestEntry> entries = new ArrayList<>();
+        try (Stream<Path> paths = Files.walk(revisionPath)) {
+            for (Path storedFile : (Iterable<Path>) paths::iterator) {
+                if (!Files.isRegularFile(storedFile)) {
+                    continue;
+                }
+                String relativePath = revisionPath.relativize(storedFile).toString().replace('\\', '/');
+                // Manifest und dessen temporäre Dateien gehören nicht zum Inhalt der Revision
+                if (isReservedPath(relativePath)) {
+                    continue;
+                }
+
+                // Inhalt streamend hashen, ohne die Datei vollständig in den Speicher zu laden
+                MessageDigest digest = ManifestEntry.newDigest();
+                long size = 0;
+                try (InputStream in = storage.open(storedFile)) {
+                    byte[] buffer = new byte[8192];
+                    int read;
+                    while ((read = in.read(buffer)) != -1) {
+                        digest.update(buffer, 0, read);
+                        size += read;
+                    }
+                }
+                entries.add(new ManifestEntry(relativePath, size, HexFormat.of().formatHex(digest.digest()),
+                        Files.getLastModifiedTime(storedFile).toMillis()));
+            }
+        }
+        return RevisionManifest.of(revision, entries);
+    }
+
+    private synchronized RevisionManifest cachedManifest(Path revisionPath, FileTime lastModified) {
+        CachedManifest cached = cache.get(revisionPath);
+        return cached != null && cached.lastModified().equals(lastModified) ? cached.manifest() : null;
+    }
+
+    private synchronized void cacheManifest(Path revisionPath, RevisionManifest manifest, FileTime lastModified) {
+        cache.put(revisionPath, new CachedManifest(manifest, lastModified));
+    }
+
+    /** Cache-Eintrag mit dem Änderungszeitpunkt der Manifest-Datei beim Lesen */
+    private record CachedManifest(RevisionManifest manifest, FileTime lastModified) {
+    }
+
+    /** Manifest-Datei mit falscher Kennung */
+    private static class InvalidManifestException extends IOException {
+
+        InvalidManifestException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package it.wiesner.mcp.simpleversioning.manifest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Ergebnis des Vergleichs zweier Revisionen anhand ihrer Manifeste.
+ *
+ * @param fromRevision Ausgangsrevision
+ * @param toRevision   Zielrevision
+ * @param added        Pfade, die nur in der Zielrevision existieren
+ * @param removed      Pfade, die nur in der Ausgangsrevision existieren
+ * @param modified     Pfade, deren Inhalt (Hash) sich unterscheidet
+ * @param unchanged    Anzahl der Dateien mit identischem Inhalt
+ */
+public record RevisionComparison(
+        int fromRevision,
+        int toRevision,
+        List<String> added,
+        List<String> removed,
+        List<String> modified,
+        int unchanged) {
+
+    /**
+     * Vergleicht zwei Manifeste über Pfade und Inhalts-Hashes.
+     *
+     * @param from Manifest der Ausgangsrevision
+     * @param to   Manifest der Zielrevision
+     * @return Ergebnis des Vergleichs, Pfade jeweils sortiert
+     */
+    public static RevisionComparison of(RevisionManifest from, RevisionManifest to) {
+        Map<String, ManifestEntry> fromFiles = from.files().stream()
+            .collect(Collectors.toMap(ManifestEntry::path, Function.identity()));
+
+        List<String> added = new ArrayList<>();
+        List<String> modified = new ArrayList<>();
+        int unchanged = 0;
+
+        // Manifest-Einträge sind nach Pfad sortiert, daher bleiben auch die Ergebnislisten sortiert
+        for (ManifestEntry entry : to.files()) {
+            ManifestEntry previous = fromFiles.remove(entry.path());
+            if (previous == null) {
+                added.add(entry.path());
+            } else if (!previous.sha256().equals(entry.sha256())) {
+                modified.add(entry.path());
+            } else {
+                unchanged++;
+            }
+        }
+
+        List<String> removed = fromFiles.keySet().stream().sorted().toList();
+        return new RevisionComparison(from.revision(), to.revision(), added, removed, modified, unchanged);
+    }
+}
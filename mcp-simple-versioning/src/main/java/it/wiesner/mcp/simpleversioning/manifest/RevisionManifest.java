@@ -0,0 +1,33 @@
+package it.wiesner.mcp.simpleversioning.manifest;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Manifest einer Revision mit den Metadaten aller enthaltenen Dateien.
+ *
+ * Wird beim Erstellen einer Revision geschrieben und erlaubt Auskünfte über
+ * die Revision (Dateien, Größen, Hashes), ohne den Verzeichnisbaum zu durchlaufen.
+ *
+ * @param revision   Revisionsnummer
+ * @param fileCount  Anzahl der Dateien
+ * @param totalBytes Summe der unkomprimierten Dateigrößen in Bytes
+ * @param files      Metadaten aller Dateien, sortiert nach Pfad
+ */
+public record RevisionManifest(int revision, int fileCount, long totalBytes, List<ManifestEntry> files) {
+
+    /**
+     * Erstellt ein Manifest und berechnet dabei Dateianzahl und Gesamtgröße.
+     *
+     * @param revision Revisionsnummer
+     * @param files    Metadaten aller Dateien (beliebige Reihenfolge)
+     * @return Manifest mit nach Pfad sortierten Einträgen
+     */
+    public static RevisionManifest of(int revision, List<ManifestEntry> files) {
+        List<ManifestEntry> sorted = files.stream()
+            .sorted(Comparator.comparing(ManifestEntry::path))
+            .toList();
+        long totalBytes = sorted.stream().mapToLong(ManifestEntry::size).sum();
+        return new RevisionManifest(revision, sorted.size(), totalBytes, sorted);
+    }
+}
@@ -0,0 +1,195 @@
+package it.wiesner.mcp.simpleversioning.storage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Dateiablage für Revisionen mit optionaler Kompression.
+ *
+ * Funktionsweise:
+ * - Ist die Kompression aktiviert, werden Dateien ab einer Mindestgröße mit dem
+ *   konfigurierten Codec komprimiert und unter ihrem eigenen Namen abgelegt; ein
+ *   Kopf am Dateianfang (Kennung und Name des Codecs) kennzeichnet die Kompression
+ * - Kleinere Dateien werden unverändert gespeichert, da sich die Kompression
+ *   dort nicht lohnt
+ * - Beim Lesen wird anhand des Kopfs erkannt, ob und wie eine Datei komprimiert
+ *   wurde; die Dekompression erfolgt transparent als Stream
+ * - Dateinamen werden nicht verändert, jeder Name ist erlaubt. Unkomprimierte
+ *   Dateien, die zufällig mit der Kennung beginnen, erhalten einen Kopf ohne Codec,
+ *   damit sie eindeutig bleiben. Dateien ohne Kennung - darunter alle Dateien aus
+ *   Revisionen vor Einführung der Kompression - werden unverändert gelesen.
+ *
+ * Kopf: 4 Byte Kennung (0x89 "SVZ"), 1 Byte Länge des Codec-Namens, Codec-Name
+ * (ASCII). Länge 0 bedeutet "nicht komprimiert".
+ *
+ * Konfiguration (application.properties):
+ * - versioning.compression.enabled: Kompression beim Schreiben aktivieren (Standard: false)
+ * - versioning.compression.codec: Name des Codecs (Standard: deflate)
+ * - versioning.compression.min-size: Mindestgröße in Bytes für die Kompression (Standard: 512)
+ */
+@Component
+public class CompressedFileStorage {
+
+    /** Kennung am Anfang komprimierter Dateien - 0x89 kommt in ASCII-Text nicht vor */
+    private static final byte[] MAGIC = { (byte) 0x89, 'S', 'V', 'Z' };
+
+    /** Alle verfügbaren Codecs - werden zum Lesen bereits komprimierter Dateien benötigt */
+    private final List<CompressionCodec> codecs;
+
+    /** Codec für neue Dateien, oder null wenn die Kompression deaktiviert ist */
+    private final CompressionCodec writeCodec;
+
+    /** Mindestgröße in Bytes, ab der Dateien komprimiert werden */
+    private final int minSize;
+
+    /**
+     * Konstruktor für die CompressedFileStorage.
+     *
+     * @param codecs    Alle verfügbaren Kompressions-Codecs
+     * @param enabled   true, wenn neue Dateien komprimiert werden sollen
+     * @param codecName Name des Codecs für neue Dateien
+     * @param minSize   Mindestgröße in Bytes, ab der komprimiert wird
+     * @throws IllegalArgumentException wenn kein Codec mit dem Namen existiert
+     */
+    public CompressedFileStorage(
+            List<CompressionCodec> codecs,
+            @Value("${versioning.compression.enabled:false}") boolean enabled,
+            @Value("${versioning.compression.codec:deflate}") String codecName,
+            @Value("${versioning.compression.min-size:512}") int minSize) {
+        this.codecs = List.copyOf(codecs);
+        this.writeCodec = enabled ? findCodec(codecName) : null;
+        this.minSize = minSize;
+    }
+
+    /**
+     * Schreibt den Inhalt einer Datei als UTF-8, bei Bedarf komprimiert.
+     *
+     * @param targetFile Pfad der Datei
+     * @param content    Dateiinhalt
+     * @throws IOException wenn ein I/O-Fehler auftritt
+     * @see #write(Path, byte[])
+     */
+    public void write(Path targetFile, String content) throws IOException {
+        write(targetFile, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Schreibt den Inhalt einer Datei, bei Bedarf komprimiert.
+     *
+     * Übergeordnete Verzeichnisse werden angelegt, falls sie nicht existieren.
+     * Die Methode ist threadsicher und kann für verschiedene Dateien parallel
+     * aufgerufen werden.
+     *
+     * @param targetFile Pfad der Datei
+     * @param data       Unkomprimierter Dateiinhalt
+     * @throws IOException wenn ein I/O-Fehler auftritt
+     */
+    public void write(Path targetFile, byte[] data) throws IOException {
+        // Wichtig für verschachtelte Pfade wie "src/main/java/MyClass.java"
+        Files.createDirectories(targetFile.getParent());
+
+        boolean compress = writeCodec != null && data.length >= minSize;
+        // Kleine Dateien bzw. deaktivierte Kompression: Inhalt unverändert schreiben
+        if (!compress && !startsWithMagic(data)) {
+            Files.write(targetFile, data, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+            return;
+        }
+
+        try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(targetFile,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING))) {
+            byte[] codecName = compress ? writeCodec.name().getBytes(StandardCharsets.US_ASCII) : new byte[0];
+            file.write(MAGIC);
+            file.write(codecName.length);
+            file.write(codecName);
+            if (!compress) {
+                // Unkomprimierte Datei, die mit der Kennung beginnt: Kopf ohne Codec voranstellen
+                file.write(data);
+                return;
+            }
+            OutputStream out = writeCodec.compress(file);
+            out.write(data);
+            // Schließt auch den Dateistrom und schreibt dabei die restlichen komprimierten Daten
+            out.close();
+        }
+    }
+
+    /**
+     * Öffnet eine Datei zum Lesen und dekomprimiert sie bei Bedarf transparent.
+     *
+     * @param targetFile Pfad der Datei
+     * @return Eingabestrom mit dem unkomprimierten Inhalt
+     * @throws NoSuchFileException wenn die Datei nicht existiert
+     * @throws IOException wenn ein I/O-Fehler auftritt oder der Codec der Datei unbekannt ist
+     */
+    public InputStream open(Path targetFile) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(Files.newInputStream(targetFile));
+        try {
+            // Dateianfang lesen und ohne Kennung wieder zurücksetzen
+            in.mark(MAGIC.length);
+            if (!Arrays.equals(in.readNBytes(MAGIC.length), MAGIC)) {
+                in.reset();
+                return in;
+            }
+            int nameLength = in.read();
+            if (nameLength < 0) {
+                throw new EOFException("Truncated compression header: " + targetFile);
+            }
+            if (nameLength == 0) {
+                return in;
+            }
+            String codecName = new String(in.readNBytes(nameLength), StandardCharsets.US_ASCII);
+            CompressionCodec codec = codecs.stream()
+                .filter(candidate -> candidate.name().equals(codecName))
+                .findFirst()
+                .orElseThrow(() -> new IOException("Unknown compression codec " + codecName + ": " + targetFile));
+            return codec.decompress(in);
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Liest den vollständigen Inhalt einer Datei als UTF-8 String.
+     *
+     * @param targetFile Pfad der Datei
+     * @return Dateiinhalt
+     * @throws IOException wenn ein I/O-Fehler auftritt
+     */
+    public String readString(Path targetFile) throws IOException {
+        try (InputStream in = open(targetFile)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Sucht einen Codec anhand seines Namens (case-insensitive).
+     */
+    private CompressionCodec findCodec(String codecName) {
+        return codecs.stream()
+            .filter(codec -> codec.name().equalsIgnoreCase(codecName))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Unknown compression codec: " + codecName));
+    }
+
+    /**
+     * Prüft, ob ein Inhalt mit der Kennung komprimierter Dateien beginnt.
+     */
+    private static boolean startsWithMagic(byte[] data) {
+        return data.length >= MAGIC.length && Arrays.equals(data, 0, MAGIC.length, MAGIC, 0, MAGIC.length);
+    }
+}
@@ -0,0 +1,44 @@
+package it.wiesner.mcp.simpleversioning.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Schnittstelle für Kompressionsverfahren der Revisionsablage.
+ *
+ * Implementierungen werden als Spring-Beans registriert und über ihren Namen
+ * ausgewählt (Property versioning.compression.codec). Der Name wird im Kopf
+ * komprimierter Dateien abgelegt, damit sie beim Lesen erkannt und transparent
+ * dekomprimiert werden können.
+ */
+public interface CompressionCodec {
+
+    /**
+     * Name des Codecs für die Konfiguration und den Dateikopf (z.B. "deflate").
+     *
+     * Der Name muss aus höchstens 255 ASCII-Zeichen bestehen und darf sich nicht
+     * mehr ändern, sobald Dateien damit geschrieben wurden.
+     *
+     * @return Name des Codecs
+     */
+    String name();
+
+    /**
+     * Umhüllt einen Ausgabestrom, sodass alle geschriebenen Daten komprimiert werden.
+     *
+     * @param out Zielstrom für die komprimierten Daten
+     * @return Komprimierender Ausgabestrom; schließt beim Schließen auch out
+     * @throws IOException wenn ein I/O-Fehler auftritt
+     */
+    OutputStream compress(OutputStream out) throws IOException;
+
+    /**
+     * Umhüllt einen Eingabestrom, sodass die gelesenen Daten dekomprimiert werden.
+     *
+     * @param in Quellstrom mit komprimierten Daten
+     * @return Dekomprimierender Eingabestrom; schließt beim Schließen auch in
+     * @throws IOException wenn ein I/O-Fehler auftritt
+     */
+    InputStream decompress(InputStream in) throws IOException;
+}
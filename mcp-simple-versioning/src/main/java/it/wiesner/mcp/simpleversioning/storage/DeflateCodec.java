@@ -0,0 +1,37 @@
+package it.wiesner.mcp.simpleversioning.storage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Kompression mit dem im JDK enthaltenen Deflate-Verfahren (java.util.zip).
+ *
+ * Standard-Codec der Revisionsablage, da er ohne zusätzliche Abhängigkeiten
+ * verfügbar ist und Quelltexte typischerweise um ein Vielfaches verkleinert.
+ */
+@Component
+public class DeflateCodec implements CompressionCodec {
+
+    @Override
+    public String name() {
+        return "deflate";
+    }
+
+    @Override
+    public OutputStream compress(OutputStream out) {
+        // Standard-Deflater wird beim Schließen des Stroms automatisch freigegeben
+        return new DeflaterOutputStream(new BufferedOutputStream(out));
+    }
+
+    @Override
+    public InputStream decompress(InputStream in) {
+        // Standard-Inflater wird beim Schließen des Stroms automatisch freigegeben
+        return new InflaterInputStream(new BufferedInputStream(in));
+    }
+}
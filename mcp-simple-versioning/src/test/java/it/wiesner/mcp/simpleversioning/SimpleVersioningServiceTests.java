@@ -7,6 +7,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Comparator;
 import java.util.stream.Stream;
@@ -17,6 +18,9 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import it.wiesner.mcp.simpleversioning.manifest.RevisionComparison;
+import it.wiesner.mcp.simpleversioning.manifest.RevisionManifest;
+
 @SpringBootTest
 class SimpleVersioningServiceTests {
 
@@ -162,4 +166,185 @@ class SimpleVersioningServiceTests {
 		Path revisionPath = Paths.get(TEST_BASE_PATH, String.valueOf(revision));
 		assertTrue(Files.exists(revisionPath), "Revision directory should exist even with no files");
 	}
+
+	@Test
+	void testReadFile() throws IOException {
+		Map<String, String> files = new HashMap<>();
+		files.put("src/main/Test.java", "public class Test {}");
+
+		int revision = simpleVersioningService.createRevision(files);
+
+		assertEquals("public class Test {}", simpleVersioningService.readFile(revision, "src/main/Test.java"),
+			"File content should match");
+	}
+
+	@Test
+	void testReadFileOutsideOfRevision() throws IOException {
+		Map<String, String> files = new HashMap<>();
+		files.put("test.txt", "content");
+
+		int revision = simpleVersioningService.createRevision(files);
+
+		assertThrows(IllegalArgumentException.class,
+			() -> simpleVersioningService.readFile(revision + 1, "../" + revision + "/test.txt"),
+			"Paths outside of the revision should be rejected");
+	}
+
+	@Test
+	void testRevisionInfo() throws IOException {
+		Map<String, String> files = new HashMap<>();
+		files.put("src/main/Test.java", "public class Test {}");
+		files.put("README.md", "# Test Project");
+
+		int revision = simpleVersioningService.createRevision(files);
+		RevisionManifest info = simpleVersioningService.revisionInfo(revision);
+
+		assertEquals(revision, info.revision(), "Revision number should match");
+		assertEquals(2, info.fileCount(), "Should contain two files");
+		assertEquals(34, info.totalBytes(), "Total bytes should match");
+		assertEquals("README.md", info.files().get(0).path(), "Files should be sorted by path");
+		assertEquals(20, info.files().get(1).size(), "File size should match");
+	}
+
+	@Test
+	void testRevisionInfoForMissingRevision() {
+		assertThrows(IllegalArgumentException.class, () -> simpleVersioningService.revisionInfo(999),
+			"Missing revisions should be rejected");
+	}
+
+	@Test
+	void testCompareRevisions() throws IOException {
+		Map<String, String> files1 = new HashMap<>();
+		files1.put("same.txt", "same");
+		files1.put("changed.txt", "Version 1");
+		files1.put("removed.txt", "removed");
+
+		Map<String, String> files2 = new HashMap<>();
+		files2.put("same.txt", "same");
+		files2.put("changed.txt", "Version 2");
+		files2.put("added.txt", "added");
+
+		int revision1 = simpleVersioningService.createRevision(files1);
+		int revision2 = simpleVersioningService.createRevision(files2);
+
+		RevisionComparison comparison = simpleVersioningService.compareRevisions(revision1, revision2);
+
+		assertEquals(List.of("added.txt"), comparison.added(), "Added files should match");
+		assertEquals(List.of("removed.txt"), comparison.removed(), "Removed files should match");
+		assertEquals(List.of("changed.txt"), comparison.modified(), "Modified files should match");
+		assertEquals(1, comparison.unchanged(), "One file should be unchanged");
+	}
+
+	@Test
+	void testManifestFileNameIsReserved() {
+		Map<String, String> files = new HashMap<>();
+		files.put(".manifest", "content");
+
+		assertThrows(IllegalArgumentException.class, () -> simpleVersioningService.createRevision(files),
+			"Manifest file name should be reserved");
+	}
+
+	@Test
+	void testCodecNameSuffixIsAccepted() throws IOException {
+		Map<String, String> files = new HashMap<>();
+		files.put("a", "x".repeat(1000));
+		files.put("a.deflate", "small");
+
+		int revision = simpleVersioningService.createRevision(files);
+
+		assertEquals(List.of("a", "a.deflate"),
+			simpleVersioningService.revisionInfo(revision).files().stream().map(entry -> entry.path()).toList());
+		assertEquals("small", simpleVersioningService.readFile(revision, "a.deflate"));
+		assertEquals("x".repeat(1000), simpleVersioningService.readFile(revision, "a"));
+	}
+
+	@Test
+	void testKeysAreNormalized() throws IOException {
+		Map<String, String> files = new HashMap<>();
+		files.put("./a.txt", "a");
+		files.put("src//A.java", "class A {}");
+		files.put("src\\Main.java", "class Main {}");
+
+		int revision = simpleVersioningService.createRevision(files);
+
+		assertEquals(List.of("a.txt", "src/A.java", "src/Main.java"),
+			simpleVersioningService.revisionInfo(revision).files().stream().map(entry -> entry.path()).toList(),
+			"Manifest should contain normalized paths");
+		assertTrue(Files.exists(Paths.get(TEST_BASE_PATH, String.valueOf(revision), "src", "Main.java")),
+			"Backslashes should be treated as separators");
+		assertEquals("class Main {}", simpleVersioningService.readFile(revision, "src/Main.java"));
+	}
+
+	@Test
+	void testInvalidKeysAreRejected() throws IOException {
+		int[] revisionsBefore = simpleVersioningService.listRevisions();
+
+		for (String key : List.of("../escape.txt", "./.manifest", "x/../.manifest", ".manifest.tmp", ".", "")) {
+			assertThrows(IllegalArgumentException.class,
+				() -> simpleVersioningService.createRevision(Map.of(key, "content")),
+				"Key should be rejected: " + key);
+		}
+		assertArrayEquals(revisionsBefore, simpleVersioningService.listRevisions(),
+			"No revision should be created for rejected keys");
+	}
+
+	@Test
+	void testKeysCollidingAfterNormalizationAreRejected() throws IOException {
+		Map<String, String> files = new HashMap<>();
+		files.put("a.txt", "first");
+		files.put("./a.txt", "second");
+
+		assertThrows(IllegalArgumentException.class, () -> simpleVersioningService.createRevision(files),
+			"Keys that normalize to the same path should be rejected");
+	}
+
+	@Test
+	void testCompareLegacyRevisionWithNewRevision() throws IOException {
+		// Revision ohne Manifest, wie sie vor Einführung der Manifeste angelegt wurde
+		int[] revisions = simpleVersioningService.listRevisions();
+		int legacyRevision = revisions.length == 0 ? 1 : revisions[revisions.length - 1] + 1;
+		Path legacyFile = Paths.get(TEST_BASE_PATH, String.valueOf(legacyRevision), "src", "Main.java");
+		Files.createDirectories(legacyFile.getParent());
+		Files.writeString(legacyFile, "class Main {}");
+
+		int newRevision = simpleVersioningService.createRevision(Map.of("./src//Main.java", "class Main {}"));
+
+		RevisionComparison comparison = simpleVersioningService.compareRevisions(legacyRevision, newRevision);
+		assertEquals(List.of(), comparison.added(), "Normalized path should match the tree-built path");
+		assertEquals(List.of(), comparison.removed());
+		assertEquals(List.of(), comparison.modified());
+		assertEquals(1, comparison.unchanged());
+	}
+
+	@Test
+	void testFailedRevisionLeavesNoDirectory() throws IOException {
+		int[] revisionsBefore = simpleVersioningService.listRevisions();
+
+		// "a" wird als Datei geschrieben, "a/b" benötigt "a" als Verzeichnis
+		Map<String, String> files = new HashMap<>();
+		files.put("a", "file");
+		files.put("a/b", "nested");
+
+		assertThrows(IOException.class, () -> simpleVersioningService.createRevision(files));
+		assertArrayEquals(revisionsBefore, simpleVersioningService.listRevisions(),
+			"Incomplete revision should not become visible");
+		try (Stream<Path> paths = Files.list(Paths.get(TEST_BASE_PATH))) {
+			assertEquals(0, paths.filter(path -> path.getFileName().toString().startsWith(".staging-")).count(),
+				"Staging directory should be deleted");
+		}
+	}
+
+	@Test
+	void testRevisionWithMoreFilesThanWriteQueue() throws IOException {
+		// Mehr Dateien als die Warteschlange fasst - der aufrufende Thread schreibt mit
+		Map<String, String> files = new HashMap<>();
+		for (int i = 0; i < 500; i++) {
+			files.put("dir" + (i % 10) + "/file" + i + ".txt", "content " + i);
+		}
+
+		int revision = simpleVersioningService.createRevision(files);
+
+		assertEquals(500, simpleVersioningService.revisionInfo(revision).fileCount());
+		assertEquals("content 499", simpleVersioningService.readFile(revision, "dir9/file499.txt"));
+	}
 }
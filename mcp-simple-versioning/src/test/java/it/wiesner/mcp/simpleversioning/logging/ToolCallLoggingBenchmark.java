@@ -0,0 +1,157 @@
+package it.wiesner.mcp.simpleversioning.logging;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.tool.ToolCallback;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.joran.JoranConfigurator;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.joran.spi.JoranException;
+
+/**
+ * Misst die Latenz eines Tool-Aufrufs mit und ohne Aufruf-Logging.
+ *
+ * Verwendet die produktive logback-spring.xml und vergleicht:
+ * - Tool ohne LoggingToolCallback
+ * - LoggingToolCallback mit deaktiviertem Logger
+ * - LoggingToolCallback mit asynchronem Appender (Standardkonfiguration)
+ * - LoggingToolCallback mit synchronem Datei-Appender (frühere Konfiguration)
+ *
+ * Gemessen wird mit drei Eingaben: einem minimalen Aufruf, einer mittleren Revision
+ * unterhalb der Grenze für die Argumentgrößen (LoggingToolCallback#MAX_ARGUMENT_SCAN_CHARS)
+ * und einer großen create_revision-Eingabe von etwa 2 MB, bei der nur die
+ * Gesamtgröße protokolliert wird.
+ *
+ * Jeder Aufruf wird einzeln gemessen, zwischen zwei Aufrufen wird kurz pausiert.
+ * Das entspricht dem Verhalten eines MCP-Servers, bei dem Tool-Aufrufe nicht
+ * lückenlos aufeinander folgen, und gibt dem Appender-Thread Gelegenheit, die
+ * Queue abzuarbeiten - auch auf Maschinen mit nur einem CPU-Kern.
+ *
+ * Ausführen mit: mvn test -Dtest=ToolCallLoggingBenchmark -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ToolCallLoggingBenchmark {
+
+	private static final long PAUSE_NANOS = 50_000;
+	private static final String SMALL_INPUT = "{\"files\":{\"src/main/Test.java\":\"public class Test {}\"}}";
+	private static final String MEDIUM_INPUT = revisionInput(3, 4 * 1024);
+	private static final String LARGE_INPUT = revisionInput(200, 10 * 1024);
+
+	private final LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+
+	private final Logger toolCallLogger = (Logger) LoggerFactory.getLogger(LoggingToolCallback.LOGGER_NAME);
+
+	private void setUpLogging() {
+		context.reset();
+		JoranConfigurator configurator = new JoranConfigurator();
+		configurator.setContext(context);
+		try {
+			configurator.doConfigure(getClass().getClassLoader().getResource("logback-spring.xml"));
+		} catch (JoranException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@AfterEach
+	void tearDown() {
+		// Stoppt alle Appender und leert dabei die asynchronen Queues
+		context.reset();
+	}
+
+	@Test
+	void benchmarkToolCallLatency() {
+		benchmark("small", SMALL_INPUT, 20_000);
+		benchmark("medium", MEDIUM_INPUT, 5_000);
+		benchmark("large", LARGE_INPUT, 1_000);
+	}
+
+	/**
+	 * Misst alle Szenarien für eine Eingabe.
+	 */
+	private void benchmark(String payload, String toolInput, int calls) {
+		// Vorherigen Durchlauf zurücksetzen (Logger-Level und Appender)
+		setUpLogging();
+		System.out.printf("%s input (%d chars):%n", payload, toolInput.length());
+
+		ToolCallback tool = new LoggingToolCallbackTests.EchoToolCallback();
+		ToolCallback loggingTool = new LoggingToolCallback(tool);
+
+		report("without decorator", measure(() -> tool.call(toolInput), calls));
+
+		toolCallLogger.setLevel(Level.OFF);
+		report("logging off", measure(() -> loggingTool.call(toolInput), calls));
+
+		toolCallLogger.setLevel(Level.INFO);
+		report("async appender", measure(() -> loggingTool.call(toolInput), calls));
+
+		// Asynchronen Appender durch den darunterliegenden Datei-Appender ersetzen
+		AsyncAppender async = (AsyncAppender) toolCallLogger.getAppender("ASYNC_TOOLCALLS");
+		Appender<ILoggingEvent> file = async.getAppender("TOOLCALLS_FILE");
+		toolCallLogger.detachAppender(async);
+		toolCallLogger.addAppender(file);
+		report("sync file appender", measure(() -> loggingTool.call(toolInput), calls));
+	}
+
+	/**
+	 * Erzeugt eine create_revision-Eingabe mit der angegebenen Anzahl und Größe von Dateien.
+	 */
+	private static String revisionInput(int files, int fileSize) {
+		// Ganze Zeilen wiederholen, damit keine JSON-Escape-Sequenz zerschnitten wird
+		String line = "public class Test { int value; }\\n";
+		String content = line.repeat(Math.max(1, fileSize / line.length()));
+		StringBuilder input = new StringBuilder("{\"files\":{");
+		for (int i = 0; i < files; i++) {
+			if (i > 0) {
+				input.append(',');
+			}
+			input.append("\"src/main/Test").append(i).append(".java\":\"").append(content).append('"');
+		}
+		return input.append("},\"message\":\"benchmark\"}").toString();
+	}
+
+	/**
+	 * Führt die Aufrufe nach einer Aufwärmphase aus und liefert die Dauer jedes Aufrufs
+	 * in Nanosekunden, aufsteigend sortiert.
+	 */
+	private static long[] measure(Supplier<String> call, int calls) {
+		timeCalls(call, calls);
+		long[] durations = timeCalls(call, calls);
+		Arrays.sort(durations);
+		return durations;
+	}
+
+	/**
+	 * Misst jeden Aufruf einzeln und pausiert vor jedem Aufruf.
+	 */
+	private static long[] timeCalls(Supplier<String> call, int calls) {
+		long[] durations = new long[calls];
+		for (int i = 0; i < calls; i++) {
+			LockSupport.parkNanos(PAUSE_NANOS);
+			long start = System.nanoTime();
+			call.get();
+			durations[i] = System.nanoTime() - start;
+		}
+		return durations;
+	}
+
+	/**
+	 * Gibt Mittelwert, Median und 99. Perzentil aus - ein asynchroner Appender soll
+	 * vor allem Ausreißer durch blockierende Datei-I/O vermeiden.
+	 */
+	private static void report(String scenario, long[] durations) {
+		double mean = Arrays.stream(durations).average().orElse(0);
+		System.out.printf("  %-20s mean %10.1f ns  p50 %8d ns  p99 %8d ns%n", scenario, mean,
+			durations[durations.length / 2], durations[(int) (durations.length * 0.99)]);
+	}
+}
@@ -0,0 +1,195 @@
+package it.wiesner.mcp.simpleversioning.manifest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import it.wiesner.mcp.simpleversioning.storage.CompressedFileStorage;
+import it.wiesner.mcp.simpleversioning.storage.DeflateCodec;
+
+class ManifestStoreTests {
+
+	@TempDir
+	Path revisionPath;
+
+	private final CompressedFileStorage storage =
+		new CompressedFileStorage(List.of(new DeflateCodec()), true, "deflate", 512);
+
+	@Test
+	void testWriteAndReadManifest() throws IOException {
+		RevisionManifest manifest = RevisionManifest.of(3, List.of(
+			ManifestEntry.of("src/B.java", bytes("class B {}"), 2000L),
+			ManifestEntry.of("A.txt", bytes("Ä"), 1000L)));
+
+		new ManifestStore(storage, 8).write(revisionPath, manifest);
+
+		// Neue Instanz mit leerem Cache liest die Manifest-Datei
+		RevisionManifest read = new ManifestStore(storage, 8).read(3, revisionPath);
+
+		assertEquals(manifest, read, "Manifest should survive a round trip");
+		assertEquals(2, read.fileCount());
+		assertEquals(12, read.totalBytes(), "Total bytes should be the sum of UTF-8 sizes");
+		assertEquals("A.txt", read.files().get(0).path(), "Entries should be sorted by path");
+		assertEquals(64, read.files().get(0).sha256().length(), "Hash should be hex encoded SHA-256");
+	}
+
+	@Test
+	void testManifestIsCached() throws IOException {
+		ManifestStore store = new ManifestStore(storage, 8);
+		store.write(revisionPath, RevisionManifest.of(1, List.of(ManifestEntry.of("a.txt", bytes("a"), 0L))));
+
+		RevisionManifest manifest = store.read(1, revisionPath);
+
+		assertSame(manifest, store.read(1, revisionPath), "Unchanged manifest should be served from the cache");
+	}
+
+	@Test
+	void testDeletedManifestIsRebuilt() throws IOException {
+		ManifestStore store = new ManifestStore(storage, 8);
+		store.write(revisionPath, RevisionManifest.of(1, List.of(ManifestEntry.of("stale.txt", bytes("a"), 0L))));
+		Files.delete(revisionPath.resolve(ManifestStore.MANIFEST_FILE_NAME));
+		storage.write(revisionPath.resolve("current.txt"), "current");
+
+		assertEquals(List.of("current.txt"),
+			store.read(1, revisionPath).files().stream().map(ManifestEntry::path).toList(),
+			"Stale cache entry should not be used once the manifest file is gone");
+	}
+
+	@Test
+	void testWriteLeavesNoTemporaryFiles() throws IOException {
+		ManifestStore store = new ManifestStore(storage, 8);
+		store.write(revisionPath, RevisionManifest.of(1, List.of(ManifestEntry.of("a.txt", bytes("a"), 0L))));
+		store.write(revisionPath, RevisionManifest.of(1, List.of(ManifestEntry.of("b.txt", bytes("b"), 0L))));
+
+		try (Stream<Path> files = Files.list(revisionPath)) {
+			assertEquals(List.of(ManifestStore.MANIFEST_FILE_NAME),
+				files.map(path -> path.getFileName().toString()).toList(),
+				"Only the manifest should remain after replacing it");
+		}
+		assertEquals("b.txt", new ManifestStore(storage, 8).read(1, revisionPath).files().get(0).path());
+	}
+
+	@Test
+	void testConcurrentReadsShareRebuiltManifest() throws Exception {
+		for (int i = 0; i < 20; i++) {
+			storage.write(revisionPath.resolve("file" + i + ".txt"), "content " + i);
+		}
+		ManifestStore store = new ManifestStore(storage, 8);
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<RevisionManifest>> results = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				results.add(executor.submit(() -> store.read(5, revisionPath)));
+			}
+			RevisionManifest first = results.get(0).get();
+			assertEquals(20, first.fileCount());
+			for (Future<RevisionManifest> result : results) {
+				assertEquals(first, result.get(), "All readers should get the same manifest");
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void testManifestIsBuiltForRevisionWithoutManifest() throws IOException {
+		String large = "x".repeat(1000);
+		storage.write(revisionPath.resolve("src/Large.java"), large);
+		storage.write(revisionPath.resolve("small.txt"), "small");
+		// Unkomprimierte Datei aus einer alten Revision, deren Name auf einen Codec endet
+		Files.writeString(revisionPath.resolve("legacy.deflate"), "raw");
+
+		RevisionManifest manifest = new ManifestStore(storage, 8).read(7, revisionPath);
+
+		assertEquals(7, manifest.revision());
+		assertEquals(List.of("legacy.deflate", "small.txt", "src/Large.java"),
+			manifest.files().stream().map(ManifestEntry::path).toList(),
+			"Files should be listed by their own name");
+		assertEquals(ManifestEntry.of("src/Large.java", bytes(large), 0L).sha256(), manifest.files().get(2).sha256(),
+			"Hash should be computed from the uncompressed content");
+		assertEquals(1008, manifest.totalBytes(), "Sizes should be uncompressed sizes");
+		assertTrue(Files.exists(revisionPath.resolve(ManifestStore.MANIFEST_FILE_NAME)),
+			"Generated manifest should be persisted");
+	}
+
+	@Test
+	void testInvalidManifestIsRebuilt() throws IOException {
+		storage.write(revisionPath.resolve("a.txt"), "a");
+		Files.writeString(revisionPath.resolve(ManifestStore.MANIFEST_FILE_NAME), "not a manifest");
+
+		RevisionManifest manifest = new ManifestStore(storage, 8).read(1, revisionPath);
+
+		assertEquals(List.of("a.txt"), manifest.files().stream().map(ManifestEntry::path).toList(),
+			"Invalid manifest should be replaced by one built from the tree");
+		assertEquals(manifest, new ManifestStore(storage, 8).read(1, revisionPath), "Rebuilt manifest should be persisted");
+	}
+
+	@Test
+	void testManifestWithInvalidCountIsRebuilt() throws IOException {
+		storage.write(revisionPath.resolve("a.txt"), "a");
+
+		for (int count : new int[] { Integer.MAX_VALUE, -1 }) {
+			writeHeader(0x4D414E31, 1, count);
+
+			assertEquals(1, new ManifestStore(storage, 8).read(1, revisionPath).fileCount(),
+				"Manifest with entry count " + count + " should be rebuilt");
+		}
+	}
+
+	@Test
+	void testManifestOfOtherRevisionIsRebuilt() throws IOException {
+		storage.write(revisionPath.resolve("a.txt"), "a");
+		new ManifestStore(storage, 8).write(revisionPath, RevisionManifest.of(2, List.of()));
+
+		RevisionManifest manifest = new ManifestStore(storage, 8).read(1, revisionPath);
+
+		assertEquals(1, manifest.revision());
+		assertEquals(1, manifest.fileCount(), "Manifest with a foreign revision number should be rebuilt");
+	}
+
+	@Test
+	void testCompareManifests() {
+		RevisionManifest from = RevisionManifest.of(1, List.of(
+			ManifestEntry.of("same.txt", bytes("same"), 0L),
+			ManifestEntry.of("changed.txt", bytes("old"), 0L),
+			ManifestEntry.of("removed.txt", bytes("removed"), 0L)));
+		RevisionManifest to = RevisionManifest.of(2, List.of(
+			ManifestEntry.of("same.txt", bytes("same"), 1L),
+			ManifestEntry.of("changed.txt", bytes("new"), 1L),
+			ManifestEntry.of("added.txt", bytes("added"), 1L)));
+
+		RevisionComparison comparison = RevisionComparison.of(from, to);
+
+		assertEquals(List.of("added.txt"), comparison.added());
+		assertEquals(List.of("removed.txt"), comparison.removed());
+		assertEquals(List.of("changed.txt"), comparison.modified());
+		assertEquals(1, comparison.unchanged());
+	}
+
+	private void writeHeader(int magic, int revision, int count) throws IOException {
+		try (DataOutputStream out = new DataOutputStream(
+				Files.newOutputStream(revisionPath.resolve(ManifestStore.MANIFEST_FILE_NAME)))) {
+			out.writeInt(magic);
+			out.writeInt(revision);
+			out.writeInt(count);
+		}
+	}
+
+	private static byte[] bytes(String content) {
+		return content.getBytes(StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,115 @@
+package it.wiesner.mcp.simpleversioning.storage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CompressedFileStorageTests {
+
+	@TempDir
+	Path tempDir;
+
+	private static final String LARGE_CONTENT = "public class Test { /* Ümläüte */ }\n".repeat(100);
+
+	@Test
+	void testLargeFileIsCompressed() throws IOException {
+		CompressedFileStorage storage = new CompressedFileStorage(List.of(new DeflateCodec()), true, "deflate", 512);
+		Path target = tempDir.resolve("src/main/Test.java");
+
+		storage.write(target, LARGE_CONTENT);
+
+		assertTrue(Files.size(target) < LARGE_CONTENT.length() / 4, "File should be compressed under its own name");
+		try (Stream<Path> files = Files.list(target.getParent())) {
+			assertEquals(1, files.count(), "No additional file should be created");
+		}
+		assertEquals(LARGE_CONTENT, storage.readString(target), "Content should be decompressed transparently");
+	}
+
+	@Test
+	void testSmallFileIsNotCompressed() throws IOException {
+		CompressedFileStorage storage = new CompressedFileStorage(List.of(new DeflateCodec()), true, "deflate", 512);
+		Path target = tempDir.resolve("README.md");
+
+		storage.write(target, "# Test Project");
+
+		assertEquals("# Test Project", Files.readString(target), "Small file should be stored as is");
+		assertEquals("# Test Project", storage.readString(target), "File content should match");
+	}
+
+	@Test
+	void testCompressionDisabled() throws IOException {
+		CompressedFileStorage storage = new CompressedFileStorage(List.of(new DeflateCodec()), false, "deflate", 512);
+		Path target = tempDir.resolve("Test.java");
+
+		storage.write(target, LARGE_CONTENT);
+
+		assertEquals(LARGE_CONTENT, Files.readString(target), "File should be stored uncompressed");
+	}
+
+	@Test
+	void testCompressedFileReadableWhenCompressionDisabled() throws IOException {
+		Path target = tempDir.resolve("Test.java");
+		new CompressedFileStorage(List.of(new DeflateCodec()), true, "deflate", 0).write(target, LARGE_CONTENT);
+
+		CompressedFileStorage storage = new CompressedFileStorage(List.of(new DeflateCodec()), false, "deflate", 0);
+
+		assertEquals(LARGE_CONTENT, storage.readString(target), "Existing compressed files should stay readable");
+	}
+
+	@Test
+	void testMissingFile() {
+		CompressedFileStorage storage = new CompressedFileStorage(List.of(new DeflateCodec()), true, "deflate", 512);
+
+		assertThrows(NoSuchFileException.class, () -> storage.readString(tempDir.resolve("missing.txt")));
+	}
+
+	@Test
+	void testUnknownCodec() {
+		assertThrows(IllegalArgumentException.class,
+			() -> new CompressedFileStorage(List.of(new DeflateCodec()), true, "zstd", 512));
+	}
+
+	@Test
+	void testCodecNameSuffixIsAllowed() throws IOException {
+		CompressedFileStorage storage = new CompressedFileStorage(List.of(new DeflateCodec()), true, "deflate", 512);
+
+		storage.write(tempDir.resolve("notes"), LARGE_CONTENT);
+		storage.write(tempDir.resolve("notes.deflate"), "small");
+
+		assertEquals(LARGE_CONTENT, storage.readString(tempDir.resolve("notes")));
+		assertEquals("small", storage.readString(tempDir.resolve("notes.deflate")),
+			"File names ending in a codec name should not collide with compressed files");
+	}
+
+	@Test
+	void testPlainFileStartingWithMagicIsPreserved() throws IOException {
+		CompressedFileStorage storage = new CompressedFileStorage(List.of(new DeflateCodec()), false, "deflate", 512);
+		byte[] data = { (byte) 0x89, 'S', 'V', 'Z', 7, 'd', 'e', 'f', 'l', 'a', 't', 'e' };
+		Path target = tempDir.resolve("data.bin");
+
+		storage.write(target, data);
+
+		try (InputStream in = storage.open(target)) {
+			assertArrayEquals(data, in.readAllBytes(), "Content starting with the magic should be read unchanged");
+		}
+	}
+
+	@Test
+	void testLegacyFileIsReadUnchanged() throws IOException {
+		CompressedFileStorage storage = new CompressedFileStorage(List.of(new DeflateCodec()), true, "deflate", 512);
+		// Datei aus einer Revision vor Einführung der Kompression
+		Path target = tempDir.resolve("archive.deflate");
+		Files.writeString(target, "plain content");
+
+		assertEquals("plain content", storage.readString(target));
+	}
+}